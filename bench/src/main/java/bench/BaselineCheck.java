@@ -0,0 +1,70 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares a JMH JSON result against the committed baseline and exits with status 1
+ * when any benchmark got slower than the allowed tolerance (default 20%) or is missing from
+ * the result. A benchmark fails when even the low end of its scoreError band (99.9% CI) is
+ * more than the tolerance above the baseline score. A mean above the tolerance with a band
+ * that still reaches below it is reported as NOISY but does not fail the run.
+ *
+ * <pre>java -cp target/benchmarks.jar bench.BaselineCheck baseline/jmh-baseline.json target/result.json [tolerance]</pre>
+ */
+public final class BaselineCheck {
+    private static final Pattern ENTRY = Pattern.compile(
+            "\"benchmark\"\\s*:\\s*\"([^\"]+)\".*?\"primaryMetric\"\\s*:\\s*\\{\\s*\"score\"\\s*:\\s*([-0-9.eE+]+)"
+            + "\\s*,\\s*\"scoreError\"\\s*:\\s*\"?([-0-9.eE+NaN]+)", Pattern.DOTALL);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineCheck <baseline.json> <result.json> [tolerance]");
+            System.exit(2);
+        }
+        Map<String, double[]> base = read(args[0]), now = read(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.20;
+
+        int regressions = 0, missing = 0;
+        for (Map.Entry<String, double[]> e : now.entrySet()) {
+            double[] b = base.get(e.getKey()), n = e.getValue();
+            if (b == null) { System.out.printf("NEW   %-45s %12.3f +/- %.3f%n", e.getKey(), n[0], n[1]); continue; }
+            double ratio = n[0] / b[0], limit = b[0] * (1 + tolerance);
+            boolean slow = n[0] - n[1] > limit;
+            boolean noisy = !slow && ratio > 1 + tolerance;
+            if (slow) regressions++;
+            System.out.printf("%s %-45s %12.3f +/- %-9.3f -> %12.3f +/- %-9.3f (%+.1f%%)%n",
+                    slow ? "SLOW " : noisy ? "NOISY" : "ok   ", e.getKey(), b[0], b[1], n[0], n[1], (ratio - 1) * 100);
+        }
+        for (String name : base.keySet()) {
+            if (now.containsKey(name)) continue;
+            missing++;
+            System.out.printf("GONE  %-45s (in baseline, not in result)%n", name);
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) slower than baseline +" + Math.round(tolerance * 100)
+                    + "% even at the low end of their error band");
+        }
+        if (missing > 0) System.out.println(missing + " baseline benchmark(s) missing from the result");
+        if (regressions > 0 || missing > 0) System.exit(1);
+    }
+
+    // Scores are average time per op, so lower is better. Value = {score, scoreError}; a
+    // NaN error (single iteration) counts as 0.
+    private static Map<String, double[]> read(String file) throws IOException {
+        String json = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        Map<String, double[]> out = new LinkedHashMap<>();
+        Matcher m = ENTRY.matcher(json);
+        while (m.find()) {
+            double err = Double.parseDouble(m.group(3));
+            out.put(m.group(1), new double[]{Double.parseDouble(m.group(2)), Double.isNaN(err) ? 0 : err});
+        }
+        return out;
+    }
+}
@@ -0,0 +1,100 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.random.RandomGenerator;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Handles to the game code. The game lives in the default package, which a named
+ * package cannot import (and JMH refuses default-package benchmarks), so every
+ * target is resolved once through {@link MethodHandles#privateLookupIn}. The handles
+ * are static final, so the JIT inlines them like direct calls.
+ */
+final class Game {
+    static final Class<?> GUI = load("SnakeDijkstraGUI");
+    static final Class<?> BOARD = load("BoardModel");
+    static final Class<?> GRADIENT_PANEL = load("SnakeDijkstraGUI$GradientPanel");
+    static final Class<?> ENGINE = load("GameEngine");
+    static final Class<?> DICE_ATLAS = load("SnakeDijkstraGUI$DiceAtlas");
+
+    // (int) boolean
+    static final MethodHandle IS_PRIME = staticIn(ENGINE, "isPrime", methodType(boolean.class, int.class));
+    // (int s, int st, int finish, int[] out) int
+    static final MethodHandle GEN_PATH = staticIn(ENGINE, "genPath", methodType(int.class, int.class, int.class, int.class, int[].class));
+    // (int size) Object
+    static final MethodHandle NEW_BOARD = constructor(BOARD, methodType(void.class, int.class))
+            .asType(methodType(Object.class, int.class));
+    // (Object board, int id) int -- replaces the old Node[][] scan in getPointOfNode
+    static final MethodHandle GET_POINT_OF_NODE = virtualIn(BOARD, "getPoint", methodType(int.class, int.class))
+            .asType(methodType(int.class, Object.class, int.class));
+    // (Object board, int count, RandomGenerator) void
+    static final MethodHandle GEN_SHORTCUTS = virtualIn(BOARD, "genShortcuts", methodType(void.class, int.class, RandomGenerator.class))
+            .asType(methodType(void.class, Object.class, int.class, RandomGenerator.class));
+    // (int v, int size, Color c) ImageIcon
+    static final MethodHandle CREATE_DICE_IMAGE = staticIn(GUI, "createDiceImage",
+            methodType(javax.swing.ImageIcon.class, int.class, int.class, java.awt.Color.class));
+    // (int size, double scale) Object
+    static final MethodHandle NEW_DICE_ATLAS = constructor(DICE_ATLAS, methodType(void.class, int.class, double.class))
+            .asType(methodType(Object.class, int.class, double.class));
+    // (Object atlas, int v, Color border) ImageIcon
+    static final MethodHandle DICE_ATLAS_GET = virtualIn(DICE_ATLAS, "get",
+            methodType(javax.swing.ImageIcon.class, int.class, java.awt.Color.class))
+            .asType(methodType(javax.swing.ImageIcon.class, Object.class, int.class, java.awt.Color.class));
+    // (Graphics2D, Point, Point) void
+    static final MethodHandle DRAW_LADDER = staticIn(GUI, "drawLadder",
+            methodType(void.class, java.awt.Graphics2D.class, java.awt.Point.class, java.awt.Point.class));
+
+    // (int players, long seed) Object
+    static final MethodHandle NEW_ENGINE = constructor(ENGINE, methodType(void.class, int.class, long.class))
+            .asType(methodType(Object.class, int.class, long.class));
+    // (Object engine) int
+    static final MethodHandle PLAY_TURN = virtualIn(ENGINE, "playTurn", methodType(int.class))
+            .asType(methodType(int.class, Object.class));
+    // (Object engine) void
+    static final MethodHandle RESET = virtualIn(ENGINE, "reset", methodType(void.class))
+            .asType(methodType(void.class, Object.class));
+    // (Object engine) int
+    static final MethodHandle WINNER = getter(ENGINE, "winner", int.class)
+            .asType(methodType(int.class, Object.class));
+    // (Color center, Color edge, int points) JComponent
+    static final MethodHandle NEW_GRADIENT_PANEL = constructor(GRADIENT_PANEL,
+            methodType(void.class, java.awt.Color.class, java.awt.Color.class, int.class))
+            .asType(methodType(javax.swing.JComponent.class, java.awt.Color.class, java.awt.Color.class, int.class));
+    // (JComponent panel, long playerMask) void
+    static final MethodHandle SET_PLAYERS = virtualIn(GRADIENT_PANEL, "setPlayers", methodType(void.class, long.class))
+            .asType(methodType(void.class, javax.swing.JComponent.class, long.class));
+
+    private Game() {}
+
+    private static Class<?> load(String name) {
+        try { return Class.forName(name); }
+        catch (ClassNotFoundException e) { throw new ExceptionInInitializerError(e); }
+    }
+
+    private static MethodHandles.Lookup in(Class<?> c) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+    }
+
+    private static MethodHandle staticIn(Class<?> c, String name, MethodType t) {
+        try { return in(c).findStatic(c, name, t); }
+        catch (ReflectiveOperationException e) { throw new ExceptionInInitializerError(e); }
+    }
+
+    private static MethodHandle virtualIn(Class<?> c, String name, MethodType t) {
+        try { return in(c).findVirtual(c, name, t); }
+        catch (ReflectiveOperationException e) { throw new ExceptionInInitializerError(e); }
+    }
+
+    private static MethodHandle constructor(Class<?> c, MethodType t) {
+        try { return in(c).findConstructor(c, t); }
+        catch (ReflectiveOperationException e) { throw new ExceptionInInitializerError(e); }
+    }
+
+    private static MethodHandle getter(Class<?> c, String name, Class<?> type) {
+        try { return in(c).findGetter(c, name, type); }
+        catch (ReflectiveOperationException e) { throw new ExceptionInInitializerError(e); }
+    }
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/** Offscreen rendering hot paths: dice image, one board tile and one ladder. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+    private static final int TILE = 90, BOARD = TILE * 8;
+
+    private BufferedImage tileCanvas, boardCanvas;
+    private JComponent tile;
+    private Object diceAtlas;
+    private final Point ladderFrom = new Point(TILE * 2 + TILE / 2, BOARD - TILE / 2);
+    private final Point ladderTo = new Point(TILE * 5 + TILE / 2, TILE + TILE / 2);
+    private int v;
+
+    @Setup
+    public void setup() throws Throwable {
+        tileCanvas = new BufferedImage(TILE, TILE, BufferedImage.TYPE_INT_ARGB);
+        boardCanvas = new BufferedImage(BOARD, BOARD, BufferedImage.TYPE_INT_ARGB);
+        tile = (JComponent) Game.NEW_GRADIENT_PANEL.invokeExact(Color.decode("#E3F2FD"), Color.decode("#90CAF9"), 2);
+        tile.setSize(TILE, TILE);
+        Game.SET_PLAYERS.invokeExact(tile, 0b101L); // P1 + P3
+        diceAtlas = Game.NEW_DICE_ATLAS.invokeExact(100, 1.0);
+    }
+
+    @Benchmark
+    public ImageIcon createDiceImage() throws Throwable {
+        return (ImageIcon) Game.CREATE_DICE_IMAGE.invokeExact((v++ % 6) + 1, 100, Color.LIGHT_GRAY);
+    }
+
+    /** Cached replacement for createDiceImage used by the roll animation. */
+    @Benchmark
+    public ImageIcon diceAtlasGet() throws Throwable {
+        return (ImageIcon) Game.DICE_ATLAS_GET.invokeExact(diceAtlas, (v++ % 6) + 1, Color.LIGHT_GRAY);
+    }
+
+    /** GradientPanel.paintComponent with two pawns on the tile. */
+    @Benchmark
+    public BufferedImage gradientPanelPaint() {
+        Graphics2D g = tileCanvas.createGraphics();
+        try { tile.paint(g); } finally { g.dispose(); }
+        return tileCanvas;
+    }
+
+    /** BoardDrawingPanel.drawLadder for a ladder spanning most of the board. */
+    @Benchmark
+    public BufferedImage drawLadder() throws Throwable {
+        Graphics2D g = boardCanvas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        try { Game.DRAW_LADDER.invokeExact(g, ladderFrom, ladderTo); } finally { g.dispose(); }
+        return boardCanvas;
+    }
+}
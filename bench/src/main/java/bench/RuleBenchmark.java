@@ -0,0 +1,73 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Rule hot paths: path generation, prime test, point lookup, shortcut layout and a full turn. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RuleBenchmark {
+    private static final int TILES = 64;
+
+    private final int[] path = new int[6];
+    private final int[] starts = new int[1024], steps = new int[1024];
+    private Object board, bigBoard, engine;
+    private final Random random = new Random(42);
+    private int i;
+
+    @Setup
+    public void setup() throws Throwable {
+        Random r = new Random(7);
+        for (int k = 0; k < starts.length; k++) {
+            starts[k] = r.nextInt(TILES) + 1;
+            int v = r.nextInt(6) + 1;
+            steps[k] = r.nextDouble() < 0.7 ? v : -v;
+        }
+        board = Game.NEW_BOARD.invokeExact(8);
+        bigBoard = Game.NEW_BOARD.invokeExact(100);
+        engine = Game.NEW_ENGINE.invokeExact(2, 42L);
+    }
+
+    @Benchmark
+    public int genPath() throws Throwable {
+        int k = i++ & 1023;
+        return (int) Game.GEN_PATH.invokeExact(starts[k], steps[k], TILES, path);
+    }
+
+    @Benchmark
+    public boolean isPrime() throws Throwable {
+        return (boolean) Game.IS_PRIME.invokeExact((i++ & 63) + 1);
+    }
+
+    @Benchmark
+    public int getPointOfNode() throws Throwable {
+        return (int) Game.GET_POINT_OF_NODE.invokeExact(board, (i++ & 63) + 1);
+    }
+
+    @Benchmark
+    public Object genShortcuts() throws Throwable {
+        Game.GEN_SHORTCUTS.invokeExact(board, 5, (java.util.random.RandomGenerator) random);
+        return board;
+    }
+
+    /** Worst case for the old rejection sampler: a 100x100 board filled to the shortcut limit. */
+    @Benchmark
+    public Object genShortcutsCrowded() throws Throwable {
+        Game.GEN_SHORTCUTS.invokeExact(bigBoard, (100 * 100 - 2) / 2, (java.util.random.RandomGenerator) random);
+        return bigBoard;
+    }
+
+    /** Headless equivalent of execLogic + finalizeTurn: one full turn resolution. */
+    @Benchmark
+    public int execLogicTurn() throws Throwable {
+        int pid = (int) Game.PLAY_TURN.invokeExact(engine);
+        if ((int) Game.WINNER.invokeExact(engine) != 0) Game.RESET.invokeExact(engine);
+        return pid;
+    }
+}
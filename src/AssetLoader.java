@@ -0,0 +1,84 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ==========================================
+// ASYNC ASSET LOADER
+// Semua asset di-load paralel di daemon thread. Asset "critical" = yang dibutuhkan sebelum
+// game bisa mulai; sisanya boleh selesai belakangan. Asset yang gagal dilaporkan sekali
+// lalu dianggap selesai (caller memakai fallback). Waktu per asset dicatat ke GameMetrics (load.<jenis>).
+// ==========================================
+public class AssetLoader {
+    public interface Task { void load() throws Exception; }
+
+    private static class Asset {
+        final String name, kind; final boolean critical; final Task task;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        Asset(String name, String kind, boolean critical, Task task) { this.name = name; this.kind = kind; this.critical = critical; this.task = task; }
+    }
+
+    private final List<Asset> assets = new ArrayList<>();
+    private final Map<String, Long> nanos = new ConcurrentSkipListMap<>();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private volatile Runnable onProgress = () -> {};
+    private long startNs;
+    private ExecutorService pool;
+
+    public AssetLoader add(String name, String kind, boolean critical, Task task) {
+        if(pool != null) throw new IllegalStateException("Loader already started");
+        assets.add(new Asset(name, kind, critical, task));
+        return this;
+    }
+
+    // Dipanggil dari thread loader setiap satu asset selesai
+    public AssetLoader onProgress(Runnable r) { onProgress = r; return this; }
+
+    public synchronized AssetLoader start() {
+        if(pool != null) return this;
+        int threads = Math.max(1, Math.min(assets.size(), Runtime.getRuntime().availableProcessors()));
+        pool = Executors.newFixedThreadPool(threads, r -> { Thread t = new Thread(r, "AssetLoader"); t.setDaemon(true); return t; });
+        startNs = System.nanoTime();
+        for(Asset a : assets) pool.execute(() -> run(a));
+        pool.shutdown(); // thread berhenti setelah antrian habis
+        return this;
+    }
+
+    private void run(Asset a) {
+        long t0 = System.nanoTime();
+        try { a.task.load(); }
+        catch (Exception e) { System.out.println("Asset unavailable: " + a.name + " (" + e + ")"); }
+        finally {
+            long dt = System.nanoTime() - t0;
+            nanos.put(a.name, dt);
+            GameMetrics.get().record("load." + a.kind, dt);
+            loaded.incrementAndGet();
+            a.done.complete(null);
+            onProgress.run();
+        }
+    }
+
+    public CompletableFuture<Void> critical() { return allOf(true); }
+    public CompletableFuture<Void> all() { return allOf(false); }
+
+    private CompletableFuture<Void> allOf(boolean criticalOnly) {
+        List<CompletableFuture<Void>> fs = new ArrayList<>();
+        for(Asset a : assets) if(a.critical || !criticalOnly) fs.add(a.done);
+        return CompletableFuture.allOf(fs.toArray(new CompletableFuture<?>[0]));
+    }
+
+    public int loaded() { return loaded.get(); }
+    public int total() { return assets.size(); }
+
+    // Ringkasan waktu load per asset (ms), dari yang paling lama
+    public String report() {
+        StringBuilder sb = new StringBuilder(String.format("Assets: %d/%d in %d ms", loaded(), total(), (System.nanoTime() - startNs) / 1_000_000));
+        nanos.entrySet().stream().sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+             .forEach(e -> sb.append(String.format(", %s %.1f", e.getKey(), e.getValue() / 1e6)));
+        return sb.toString();
+    }
+}
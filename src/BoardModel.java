@@ -0,0 +1,106 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// ==========================================
+// FLAT BOARD MODEL
+// Semua data tile di array primitif, index = id tile (1..tiles), index 0 tidak dipakai.
+// Lookup id -> point/row/col/shortcut O(1). 1000x1000 = ~10 MB.
+// ==========================================
+public class BoardModel {
+    public static final int DEFAULT_SIZE = 8;
+    public static final int MAX_SIZE = Short.MAX_VALUE;
+    public static final double DEFAULT_DENSITY = 5 / 64.0; // 5 shortcut per 64 tile
+
+    public final int size, tiles;
+    final byte[] points;        // 1..3
+    final short[] row, col;     // posisi di grid (row 0 = atas)
+    final int[] shortcut;       // id tujuan, 0 = tidak ada
+    final boolean[] prime;
+    private int[] sources = new int[0];
+    private int[] pool, swaps; // scratch genShortcuts: tile 2..tiles-1 + swap yang dilakukan
+    private int shortcutCount;
+    private int layoutVersion; // naik setiap layout shortcut berubah
+
+    public BoardModel(int size) {
+        if(size < 2 || size > MAX_SIZE) throw new IllegalArgumentException("Board size must be 2.." + MAX_SIZE + ", got " + size);
+        this.size = size; this.tiles = size * size;
+        points = new byte[tiles + 1]; shortcut = new int[tiles + 1];
+        row = new short[tiles + 1]; col = new short[tiles + 1];
+        prime = new boolean[tiles + 1];
+        for(int r=0; r<size; r++) for(int c=0; c<size; c++) {
+            int id = idAt(r, c); row[id] = (short) r; col[id] = (short) c;
+        }
+        // Sieve of Eratosthenes
+        for(int i=2; i<=tiles; i++) prime[i] = true;
+        for(int i=2; (long) i*i<=tiles; i++) if(prime[i]) for(int j=i*i; j<=tiles; j+=i) prime[j] = false;
+    }
+
+    // Salinan layout (points + shortcut) untuk dibaca thread lain; row/col/prime tidak pernah berubah -> dibagi
+    public BoardModel snapshot() { return new BoardModel(this); }
+
+    private BoardModel(BoardModel b) {
+        size = b.size; tiles = b.tiles; row = b.row; col = b.col; prime = b.prime;
+        points = b.points.clone(); shortcut = b.shortcut.clone(); sources = b.sources.clone();
+        shortcutCount = b.shortcutCount; layoutVersion = b.layoutVersion;
+    }
+
+    // Zig-zag dari kiri bawah: baris bawah kiri->kanan, baris berikutnya kanan->kiri, dst.
+    public int idAt(int r, int c) {
+        int fromBottom = size - 1 - r;
+        return fromBottom * size + (fromBottom % 2 == 0 ? c : size - 1 - c) + 1;
+    }
+
+    public int getPoint(int id) { return points[id]; }
+    public int getRow(int id) { return row[id]; }
+    public int getCol(int id) { return col[id]; }
+    public int getShortcut(int id) { return shortcut[id]; }
+    public boolean isPrime(int id) { return prime[id]; }
+    public int getFinish() { return tiles; }
+
+    public int getShortcutCount() { return shortcutCount; }
+    public int getShortcutSource(int i) { return sources[i]; }
+    public int getLayoutVersion() { return layoutVersion; }
+
+    // Point value 1..3 per tile
+    public void randomizePoints(RandomGenerator random) {
+        for(int i=1; i<=tiles; i++) points[i] = (byte) (random.nextInt(3) + 1);
+    }
+
+    // Tiap shortcut butuh 2 tile unik di 2..tiles-1
+    public static int maxShortcuts(int tiles) { return (tiles - 2) / 2; }
+
+    // Jumlah shortcut untuk density (shortcut per tile): 0 -> tanpa shortcut, density > 0 -> minimal 1
+    public static int shortcutCount(int tiles, double density) {
+        if(!(density >= 0)) throw new IllegalArgumentException("Shortcut density must be >= 0, got " + density);
+        if(density == 0) return 0;
+        long count = Math.max(1, Math.round(tiles * density));
+        if(count > maxShortcuts(tiles)) throw new IllegalArgumentException("Density " + density + " needs " + count + " shortcuts, " + tiles + " tiles fit at most " + maxShortcuts(tiles));
+        return (int) count;
+    }
+
+    public static int defaultShortcutCount(int tiles) { return Math.min(Math.max(1, tiles * 5 / 64), maxShortcuts(tiles)); }
+
+    // Layout reproducible: seed + density yang sama -> layout yang sama
+    public void genShortcuts(double density, long seed) { genShortcuts(shortcutCount(tiles, density), new SplittableRandom(seed)); }
+
+    // Partial Fisher-Yates di pool tile 2..tiles-1: ambil 2*count tile berbeda, pasangkan jadi (lo -> hi).
+    // Semua ujung unik -> tidak ada konflik & tidak ada retry, O(count) per layout.
+    public void genShortcuts(int count, RandomGenerator random) {
+        if(count < 0 || count > maxShortcuts(tiles)) throw new IllegalArgumentException("Too many shortcuts (" + count + ") for " + tiles + " tiles, max " + maxShortcuts(tiles));
+        for(int i=0; i<shortcutCount; i++) shortcut[sources[i]] = 0;
+        if(sources.length != count) sources = new int[count];
+        if(pool == null) { pool = new int[tiles - 2]; for(int i=0; i<pool.length; i++) pool[i] = i + 2; }
+        int picks = count * 2;
+        if(swaps == null || swaps.length < picks) swaps = new int[picks];
+        for(int i=0; i<picks; i++) { int j = i + random.nextInt(pool.length - i); swaps[i] = j; swap(pool, i, j); }
+        for(int i=0; i<count; i++) {
+            int a = pool[2*i], b = pool[2*i+1], lo = Math.min(a,b), hi = Math.max(a,b);
+            shortcut[lo] = hi; sources[i] = lo;
+        }
+        // Kembalikan pool ke urutan awal -> layout hanya tergantung random, bukan layout sebelumnya
+        for(int i=picks-1; i>=0; i--) swap(pool, i, swaps[i]);
+        shortcutCount = count; layoutVersion++;
+    }
+
+    private static void swap(int[] a, int i, int j) { int x = a[i]; a[i] = a[j]; a[j] = x; }
+}
@@ -0,0 +1,205 @@
+import java.util.SplittableRandom;
+
+// ==========================================
+// HEADLESS GAME ENGINE (NO SWING)
+// Aturan sama dengan SnakeDijkstraGUI.execLogic / finalizeTurn,
+// tapi semua state disimpan di array primitif -> tidak ada alokasi per turn.
+// ==========================================
+public class GameEngine {
+    public static final int MAX_DICE = 6;
+    public static final double GREEN_CHANCE = 0.7; // 70% Green
+    public static final int DOUBLE_TURN = 5;        // Kelipatan 5
+
+    // Varian aturan untuk simulasi / turnamen. DEFAULT = aturan GUI.
+    public static final class Rules {
+        public enum Shortcut { PRIME, ANY, NONE } // tile awal yang boleh pakai shortcut (dadu hijau)
+        public static final Rules DEFAULT = new Rules(GREEN_CHANCE, DOUBLE_TURN, Shortcut.PRIME);
+
+        public final double greenChance;
+        public final int doubleTurn; // 0 = tanpa double turn
+        public final Shortcut shortcut;
+
+        public Rules(double greenChance, int doubleTurn, Shortcut shortcut) {
+            if(!(greenChance >= 0 && greenChance <= 1)) throw new IllegalArgumentException("greenChance must be in [0, 1]: " + greenChance);
+            if(doubleTurn < 0) throw new IllegalArgumentException("doubleTurn must be >= 0: " + doubleTurn);
+            this.greenChance = greenChance; this.doubleTurn = doubleTurn; this.shortcut = shortcut;
+        }
+
+        public boolean isDoubleTurn(int pos) { return doubleTurn > 0 && pos%doubleTurn==0 && pos!=1; }
+
+        boolean canShortcut(BoardModel b, int cur) {
+            switch (shortcut) {
+                case PRIME: return b.prime[cur];
+                case ANY: return true;
+                default: return false;
+            }
+        }
+
+        @Override public String toString() { return String.format("green=%.2f double=%d shortcut=%s", greenChance, doubleTurn, shortcut.name().toLowerCase()); }
+    }
+
+    private final BoardModel board;
+    private final Rules rules;
+    private final int finish, shortcutCount;
+
+    // Player state (pid 1..n disimpan di index pid-1)
+    private final int playerCount;
+    private final int[] pos, score;
+    private final int[] queue; // ring buffer turnQueue
+    private int head, queued;
+    private final int[] path = new int[MAX_DICE];
+    private final SplittableRandom random;
+    private TurnHistory history; // opsional: snapshot per turn untuk rewind
+    private int[] order;         // scratch: antrian berurutan untuk history
+
+    // Hasil turn terakhir
+    public int lastPid, lastFrom, lastVal, lastEnd, lastLink, lastPts;
+    public boolean lastGreen, lastDouble;
+
+    // Statistik game berjalan
+    public int turns, shortcutsTaken, doubleTurns, winner;
+
+    public GameEngine(int playerCount, long seed) { this(new BoardModel(BoardModel.DEFAULT_SIZE), playerCount, seed); }
+
+    public GameEngine(BoardModel board, int playerCount, long seed) { this(board, playerCount, seed, Rules.DEFAULT); }
+
+    public GameEngine(BoardModel board, int playerCount, long seed, Rules rules) { this(board, playerCount, seed, rules, true); }
+
+    // Engine untuk simulasi di board yang sudah ada: board tidak diubah, state diisi lewat setState
+    public static GameEngine onBoard(BoardModel board, int playerCount, long seed) { return new GameEngine(board, playerCount, seed, Rules.DEFAULT, false); }
+
+    private GameEngine(BoardModel board, int playerCount, long seed, Rules rules, boolean generate) {
+        this.board = board; this.rules = rules; this.finish = board.tiles;
+        this.shortcutCount = BoardModel.defaultShortcutCount(board.tiles);
+        this.playerCount = playerCount;
+        this.pos = new int[playerCount]; this.score = new int[playerCount];
+        this.queue = new int[playerCount];
+        this.random = new SplittableRandom(seed);
+        if(generate) newBoard();
+        reset();
+    }
+
+    // Point value baru per tile + layout shortcut baru
+    public void newBoard() {
+        board.randomizePoints(random);
+        board.genShortcuts(shortcutCount, random);
+    }
+
+    public void reset() {
+        for(int i=0; i<playerCount; i++) { pos[i] = 1; score[i] = 0; queue[i] = i+1; }
+        head = 0; queued = playerCount;
+        turns = 0; shortcutsTaken = 0; doubleTurns = 0; winner = 0;
+        if(history != null) history.reset(pos, score, order());
+    }
+
+    // Lanjut dari state tertentu. turnOrder = urutan giliran semua pemain, mulai dari yang jalan berikutnya.
+    public void setState(int[] position, int[] points, int[] turnOrder) {
+        System.arraycopy(position, 0, pos, 0, playerCount);
+        System.arraycopy(points, 0, score, 0, playerCount);
+        System.arraycopy(turnOrder, 0, queue, 0, playerCount);
+        head = 0; queued = playerCount;
+        turns = 0; shortcutsTaken = 0; doubleTurns = 0; winner = 0;
+        if(history != null) history.reset(pos, score, order());
+    }
+
+    // Simpan state setiap turn supaya rewind(n) bisa dipakai. Game sekarang dimulai ulang (board tetap).
+    public void enableHistory() {
+        history = new TurnHistory(playerCount);
+        reset();
+    }
+
+    // Kembali n turn (O(players)). Dadu berikutnya tetap lanjut dari RNG, bukan diulang.
+    // Game yang sudah selesai tidak bisa di-rewind (turn kemenangan tidak masuk history).
+    public int rewind(int n) {
+        if(history == null) throw new IllegalStateException("History disabled, call enableHistory() first");
+        if(winner != 0) throw new IllegalStateException("game over, start a new game");
+        int k = history.rewind(n);
+        history.copy(history.turns(), pos, score, queue);
+        head = 0; queued = playerCount; turns = history.turns(); winner = 0;
+        return k;
+    }
+
+    private int[] order() {
+        if(order == null) order = new int[playerCount];
+        for(int i=0; i<playerCount; i++) order[i] = queue[(head+i) % playerCount];
+        return order;
+    }
+
+    // Satu turn penuh: lempar dadu, jalan, shortcut, skor, double turn. Return pid yang jalan.
+    public int playTurn() {
+        int pid = pollFirst();
+        int cur = pos[pid-1];
+        boolean canShortcut = rules.canShortcut(board, cur);
+        boolean green = random.nextDouble() < rules.greenChance;
+        int val = random.nextInt(MAX_DICE) + 1;
+
+        int len = genPath(cur, green ? val : -val, finish, path);
+        int end = len == 0 ? cur : path[len-1];
+        int link = -1;
+        if(green && canShortcut) {
+            int hit = findShortcut(cur, val, path, len, board.shortcut);
+            if(hit != -1) { end = path[hit]; link = board.shortcut[end]; shortcutsTaken++; }
+        }
+        int fin = link != -1 ? link : end;
+
+        pos[pid-1] = fin;
+        int pts = board.points[fin];
+        score[pid-1] += pts;
+        turns++;
+
+        lastPid = pid; lastFrom = cur; lastVal = val; lastGreen = green;
+        lastEnd = end; lastLink = link; lastPts = pts; lastDouble = false;
+
+        if(fin == finish) { winner = pid; return pid; }
+        if(rules.isDoubleTurn(fin)) { lastDouble = true; doubleTurns++; addFirst(pid); }
+        else addLast(pid);
+        if(history != null) history.push(pos, score, order());
+        return pid;
+    }
+
+    // Main sampai ada yang finish (atau batas turn). Return pemenang, 0 jika kena batas.
+    public int playGame(int maxTurns) {
+        while(winner == 0 && turns < maxTurns) playTurn();
+        return winner;
+    }
+
+    public BoardModel getBoard() { return board; }
+    public Rules getRules() { return rules; }
+    public int getPlayerCount() { return playerCount; }
+    public int getPosition(int pid) { return pos[pid-1]; }
+    public int getScore(int pid) { return score[pid-1]; }
+    public int peekNext() { return queue[head]; }
+
+    // Salin urutan giliran (semua pemain) ke out, out[0] = yang jalan berikutnya
+    public void queueOrder(int[] out) { for(int i=0; i<playerCount; i++) out[i] = queue[(head+i) % playerCount]; }
+
+    // ==========================================
+    // RULE HELPERS (dipakai juga oleh GUI)
+    // ==========================================
+    public static boolean isPrime(int n) { if(n<=1)return false; for(int i=2; i*i<=n; i++) if(n%i==0) return false; return true; }
+
+    // LOGIC BARU: NO BOUNCE. Tulis path ke out, return panjang path.
+    public static int genPath(int s, int st, int finish, int[] out) {
+        int c = s, m = Math.abs(st), d = st>0?1:-1, n = 0;
+        for(int i=0; i<m; i++) {
+            if(c == finish) break; // Finish Condition (Stop at last tile)
+            if(c == 1 && d == -1) {} else c += d;
+            out[n++] = c;
+        }
+        return n;
+    }
+
+    // Index pertama di path yang kena shortcut dan masih overflow, -1 jika tidak ada.
+    // Caller wajib cek dadu hijau & tile awal prima.
+    public static int findShortcut(int cur, int val, int[] path, int len, int[] shortcut) {
+        for(int i=0; i<len; i++) {
+            int n = path[i];
+            if(shortcut[n] != 0 && val > (n-cur)) return i;
+        }
+        return -1;
+    }
+
+    private int pollFirst() { int pid = queue[head]; head = (head+1) % playerCount; queued--; return pid; }
+    private void addFirst(int pid) { head = (head-1+playerCount) % playerCount; queue[head] = pid; queued++; }
+    private void addLast(int pid) { queue[(head+queued) % playerCount] = pid; queued++; }
+}
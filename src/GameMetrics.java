@@ -0,0 +1,138 @@
+import java.awt.EventQueue;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntSupplier;
+import javax.management.ObjectName;
+
+// ==========================================
+// RUNTIME METRICS (JMX + OVERLAY)
+// Satu LatencyHistogram (ns) per metrik: paint.<komponen>, frame, edt.lag, turn, io.<aksi>.
+// Ditulis dari EDT / watchdog, dibaca thread JMX -> tiap histogram di-lock sendiri (tanpa contention di EDT).
+// Watchdog: heartbeat ke EDT tiap 50 ms; EDT tertahan > 200 ms -> EdtStalls naik + stack EDT disimpan (LastStallStack), tanpa print.
+// Matikan semua dengan -Dsnake.metrics=false.
+// ==========================================
+public class GameMetrics implements GameMetricsMBean {
+    public static final String FRAME = "frame", EDT_LAG = "edt.lag", TURN = "turn";
+    private static final long HEARTBEAT_MS = 50, STALL_NS = 200_000_000L;
+    private static final int STACK_DEPTH = 16;
+    private static final GameMetrics INSTANCE = new GameMetrics(Boolean.parseBoolean(System.getProperty("snake.metrics", "true")));
+
+    private final boolean enabled;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private volatile long droppedFrames, stalls; // satu writer: EDT / watchdog
+    private volatile String lastStallStack = "";
+    private volatile IntSupplier voices = () -> 0;
+    private boolean started;
+
+    // Watchdog: pingNs != 0 = heartbeat belum dijalankan EDT
+    private volatile long pingNs;
+    private volatile Thread edt;
+    private boolean stallCaptured; // hanya diakses watchdog
+    private final Runnable pong = () -> {
+        long p = pingNs;
+        edt = Thread.currentThread();
+        if(p != 0) { record(EDT_LAG, System.nanoTime() - p); pingNs = 0; }
+    };
+
+    public static GameMetrics get() { return INSTANCE; }
+
+    private GameMetrics(boolean enabled) { this.enabled = enabled; }
+
+    public boolean isEnabled() { return enabled; }
+
+    // Register MBean + start watchdog (sekali)
+    public synchronized void start() {
+        if(!enabled || started) return;
+        started = true;
+        try { ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("snake:type=GameMetrics")); }
+        catch (Exception e) { System.out.println("JMX unavailable: " + e); }
+        Thread t = new Thread(this::watch, "EDT-watchdog"); t.setDaemon(true); t.start();
+    }
+
+    public void setVoices(IntSupplier activeVoices) { voices = activeVoices; }
+
+    public void record(String metric, long nanos) {
+        if(!enabled) return;
+        LatencyHistogram h = histograms.computeIfAbsent(metric, k -> new LatencyHistogram());
+        synchronized (h) { h.record(nanos); }
+    }
+
+    // Interval antar frame Timeline + frame yang hilang di interval itu
+    public void frame(long gapNs, int dropped) {
+        if(!enabled) return;
+        record(FRAME, gapNs);
+        if(dropped > 0) droppedFrames += dropped;
+    }
+
+    private void watch() {
+        while(true) {
+            try { Thread.sleep(HEARTBEAT_MS); } catch (InterruptedException e) { return; }
+            long p = pingNs, now = System.nanoTime();
+            if(p == 0) { stallCaptured = false; pingNs = now; EventQueue.invokeLater(pong); continue; }
+            Thread t = edt;
+            if(now - p > STALL_NS && !stallCaptured && t != null) {
+                stallCaptured = true; stalls++;
+                lastStallStack = stack(t.getStackTrace(), now - p);
+            }
+        }
+    }
+
+    private static String stack(StackTraceElement[] st, long lagNs) {
+        StringBuilder sb = new StringBuilder("EDT blocked ").append(lagNs / 1_000_000).append(" ms");
+        for(int i=0; i<Math.min(STACK_DEPTH, st.length); i++) sb.append("\n    at ").append(st[i]);
+        if(st.length > STACK_DEPTH) sb.append("\n    ...");
+        return sb.toString();
+    }
+
+    // ==========================================
+    // MBEAN
+    // ==========================================
+    @Override public String[] getMetricNames() { return histograms.keySet().toArray(new String[0]); }
+
+    @Override public long getCount(String metric) {
+        LatencyHistogram h = histograms.get(metric);
+        if(h == null) return 0;
+        synchronized (h) { return h.count(); }
+    }
+
+    @Override public double getPercentileMs(String metric, double q) {
+        LatencyHistogram h = histograms.get(metric);
+        if(h == null) return 0;
+        synchronized (h) { return h.percentile(q) / 1e6; }
+    }
+
+    @Override public double getMaxMs(String metric) {
+        LatencyHistogram h = histograms.get(metric);
+        if(h == null) return 0;
+        synchronized (h) { return h.max() / 1e6; }
+    }
+
+    @Override public double getFrameP50Ms() { return getPercentileMs(FRAME, 0.5); }
+    @Override public double getFrameP99Ms() { return getPercentileMs(FRAME, 0.99); }
+    @Override public long getDroppedFrames() { return droppedFrames; }
+    @Override public long getEdtStalls() { return stalls; }
+    @Override public double getEdtStallMaxMs() { return getMaxMs(EDT_LAG); }
+    @Override public String getLastStallStack() { return lastStallStack; }
+    @Override public double getTurnP50Ms() { return getPercentileMs(TURN, 0.5); }
+    @Override public double getTurnP99Ms() { return getPercentileMs(TURN, 0.99); }
+    @Override public int getActiveVoices() { return voices.getAsInt(); }
+
+    // Satu baris per metrik (dipakai overlay)
+    @Override public String summary() {
+        StringBuilder sb = new StringBuilder();
+        for(Map.Entry<String, LatencyHistogram> e : histograms.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            synchronized (h) {
+                sb.append(String.format("%-16s %,7d  p50 %7.2f  p99 %7.2f  max %7.2f ms%n",
+                    e.getKey(), h.count(), h.percentile(0.5) / 1e6, h.percentile(0.99) / 1e6, h.max() / 1e6));
+            }
+        }
+        return sb.append(String.format("dropped %,d  stalls %,d  voices %d", droppedFrames, stalls, getActiveVoices())).toString();
+    }
+
+    @Override public void reset() {
+        for(LatencyHistogram h : histograms.values()) synchronized (h) { h.reset(); }
+        droppedFrames = 0; stalls = 0; lastStallStack = "";
+    }
+}
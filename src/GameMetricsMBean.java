@@ -0,0 +1,20 @@
+// JMX view GameMetrics (jconsole / VisualVM: snake:type=GameMetrics). Semua waktu dalam ms.
+public interface GameMetricsMBean {
+    String[] getMetricNames();
+    long getCount(String metric);
+    double getPercentileMs(String metric, double q);
+    double getMaxMs(String metric);
+
+    double getFrameP50Ms();
+    double getFrameP99Ms();
+    long getDroppedFrames();
+    long getEdtStalls();
+    double getEdtStallMaxMs();
+    String getLastStallStack();
+    double getTurnP50Ms();
+    double getTurnP99Ms();
+    int getActiveVoices();
+
+    String summary();
+    void reset();
+}
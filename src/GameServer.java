@@ -0,0 +1,264 @@
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ==========================================
+// LOCAL MULTI-SESSION GAME SERVER
+// Satu koneksi TCP = satu thread (virtual thread jika JDK punya, selain itu platform thread
+// dari cached pool) = satu sesi GameEngine sendiri (antrian, skor, shortcut, RNG dari seed).
+// Protokol teks per baris:
+//   NEW <boardSize> <players> [seed] -> OK <seed>            sesi baru, game 1
+//   NEXT                             -> OK <game>            game berikutnya (RNG sesi lanjut)
+//   ROLL                             -> TURN <pid> <green 0/1> <val> <end> <link|-1> <pts> <double 0/1> <winner|0>
+//   REWIND <n>                       -> OK <turn yang dibuang>
+//   STATE                            -> STATE <turns> <next> <winner> <pos:score>...
+//   QUIT                             -> BYE
+// Error: ERR <pesan>. Seed sama -> board + dadu sama dengan GUI / TurnJournal.
+// Usage: java GameServer serve [port]
+//        java GameServer load [host:port] [clients] [seconds] [boardSize] [players]
+// ==========================================
+public class GameServer implements Closeable {
+    public static final int DEFAULT_PORT = 7777;
+    private static final int MAX_LINE = 256;
+    private static final int MAX_BOARD = 1000; // batas memori per sesi (~10 MB)
+
+    private final ServerSocket server;
+    private final ExecutorService connections;
+    private final Thread acceptor;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong turnsServed = new AtomicLong();
+    private volatile boolean closed;
+
+    public GameServer(int port) throws IOException {
+        server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        connections = newConnectionExecutor();
+        acceptor = new Thread(this::acceptLoop, "GameServer-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() { return server.getLocalPort(); }
+    public int getActiveSessions() { return activeSessions.get(); }
+    public long getTurnsServed() { return turnsServed.get(); }
+
+    // JDK 21+: satu virtual thread per koneksi. JDK lama: cached pool platform thread (daemon).
+    static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> { Thread t = new Thread(r, "GameServer-conn"); t.setDaemon(true); return t; });
+        }
+    }
+
+    // Jenis thread executor yang benar-benar dibuat (JDK 19/20 tanpa --enable-preview jatuh ke cached pool)
+    static String threadKind(ExecutorService ex) { return ex instanceof ThreadPoolExecutor ? "platform" : "virtual"; }
+
+    public String getThreadKind() { return threadKind(connections); }
+
+    private void acceptLoop() {
+        while(!closed) {
+            try {
+                Socket s = server.accept();
+                s.setTcpNoDelay(true);
+                connections.execute(() -> serve(s));
+            } catch (IOException e) {
+                if(!closed) System.out.println("GameServer accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        connections.shutdownNow();
+    }
+
+    // ==========================================
+    // SESSION (satu per koneksi, hanya disentuh thread koneksi itu)
+    // ==========================================
+    private void serve(Socket socket) {
+        GameEngine g = null;
+        int game = 0;
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while((line = in.readLine()) != null) {
+                String[] a = line.trim().split(" ");
+                String reply;
+                try {
+                    if(line.length() > MAX_LINE) reply = "ERR line too long";
+                    else if(a[0].equals("NEW")) {
+                        int size = Integer.parseInt(a[1]), players = Integer.parseInt(a[2]);
+                        if(players < 1 || players > 255) throw new IllegalArgumentException("players must be 1..255");
+                        if(size > MAX_BOARD) throw new IllegalArgumentException("board size must be <= " + MAX_BOARD);
+                        long seed = a.length > 3 ? Long.parseLong(a[3]) : MonteCarloSimulator.mix(System.nanoTime(), turnsServed.get());
+                        if(g == null) activeSessions.incrementAndGet();
+                        g = new GameEngine(new BoardModel(size), players, seed);
+                        g.enableHistory(); game = 1;
+                        reply = "OK " + seed;
+                    }
+                    else if(a[0].equals("QUIT")) { out.write("BYE\n"); out.flush(); return; }
+                    else if(g == null) reply = "ERR no session, send NEW first";
+                    else if(a[0].equals("ROLL")) {
+                        if(g.winner != 0) reply = "ERR game over, send NEXT";
+                        else {
+                            g.playTurn(); turnsServed.incrementAndGet();
+                            reply = "TURN " + g.lastPid + " " + (g.lastGreen ? 1 : 0) + " " + g.lastVal + " " + g.lastEnd + " " + g.lastLink + " " + g.lastPts + " " + (g.lastDouble ? 1 : 0) + " " + g.winner;
+                        }
+                    }
+                    else if(a[0].equals("NEXT")) { g.newBoard(); g.reset(); reply = "OK " + (++game); }
+                    else if(a[0].equals("REWIND")) reply = "OK " + g.rewind(Integer.parseInt(a[1])); // game selesai -> ERR dari engine
+                    else if(a[0].equals("STATE")) {
+                        StringBuilder sb = new StringBuilder("STATE ").append(g.turns).append(' ').append(g.peekNext()).append(' ').append(g.winner);
+                        for(int p=1; p<=g.getPlayerCount(); p++) sb.append(' ').append(g.getPosition(p)).append(':').append(g.getScore(p));
+                        reply = sb.toString();
+                    }
+                    else reply = "ERR unknown command " + a[0];
+                } catch (RuntimeException e) {
+                    reply = "ERR " + e.getMessage(); // argumen salah / kurang
+                }
+                out.write(reply); out.write('\n'); out.flush();
+            }
+        } catch (IOException e) {
+            // koneksi putus: sesi ikut dibuang
+        } finally {
+            if(g != null) activeSessions.decrementAndGet();
+        }
+    }
+
+    // ==========================================
+    // CLIENT (dipakai GUI & load generator)
+    // Tidak thread-safe: satu koneksi = satu thread pemanggil (GUI: executor "GameServer-client").
+    // ==========================================
+    public static class Client implements Closeable {
+        public static final int CONNECT_TIMEOUT_MS = 2000, READ_TIMEOUT_MS = 5000;
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        // Hasil ROLL terakhir
+        public int pid, val, end, link, pts, winner;
+        public boolean green, isDouble;
+
+        public Client(String host, int port) throws IOException {
+            socket = new Socket();
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            socket.setSoTimeout(READ_TIMEOUT_MS); // server macet -> SocketTimeoutException, bukan hang
+            socket.setTcpNoDelay(true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+        }
+
+        // "host:port" atau "host" (port default)
+        public static Client connect(String address) throws IOException {
+            int i = address.lastIndexOf(':');
+            return i < 0 ? new Client(address, DEFAULT_PORT) : new Client(address.substring(0, i), Integer.parseInt(address.substring(i + 1)));
+        }
+
+        public long newSession(int boardSize, int players, Long seed) throws IOException {
+            return Long.parseLong(call("NEW " + boardSize + " " + players + (seed != null ? " " + seed : ""), "OK")[1]);
+        }
+
+        public int nextGame() throws IOException { return Integer.parseInt(call("NEXT", "OK")[1]); }
+
+        public int rewind(int n) throws IOException { return Integer.parseInt(call("REWIND " + n, "OK")[1]); }
+
+        public void roll() throws IOException {
+            String[] t = call("ROLL", "TURN");
+            pid = Integer.parseInt(t[1]); green = t[2].equals("1"); val = Integer.parseInt(t[3]);
+            end = Integer.parseInt(t[4]); link = Integer.parseInt(t[5]); pts = Integer.parseInt(t[6]);
+            isDouble = t[7].equals("1"); winner = Integer.parseInt(t[8]);
+        }
+
+        private String[] call(String cmd, String expect) throws IOException {
+            out.write(cmd); out.write('\n'); out.flush();
+            String line = in.readLine();
+            if(line == null) throw new EOFException("Server closed the connection");
+            String[] a = line.split(" ");
+            if(!a[0].equals(expect)) throw new IOException("Server: " + line);
+            return a;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try { out.write("QUIT\n"); out.flush(); } catch (IOException ignored) { /* sudah putus */ }
+            socket.close();
+        }
+    }
+
+    // ==========================================
+    // LOAD GENERATOR
+    // ==========================================
+    // clients koneksi paralel, masing-masing satu sesi, ROLL terus (NEXT saat game selesai).
+    public static void load(String address, int clients, int seconds, int boardSize, int players) throws Exception {
+        ExecutorService pool = newConnectionExecutor();
+        List<LatencyHistogram> hists = new ArrayList<>();
+        AtomicInteger connected = new AtomicInteger(), failed = new AtomicInteger();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<java.util.concurrent.Future<?>> done = new ArrayList<>();
+        for(int c=0; c<clients; c++) {
+            LatencyHistogram h = new LatencyHistogram(); hists.add(h);
+            long seed = c;
+            done.add(pool.submit(() -> {
+                try (Client cl = Client.connect(address)) {
+                    cl.newSession(boardSize, players, seed);
+                    connected.incrementAndGet();
+                    while(System.nanoTime() < deadline) {
+                        long t0 = System.nanoTime();
+                        cl.roll();
+                        h.record(System.nanoTime() - t0);
+                        if(cl.winner != 0) cl.nextGame();
+                    }
+                } catch (IOException e) {
+                    if(failed.incrementAndGet() == 1) System.out.println("Client failed: " + e.getMessage());
+                }
+                return null;
+            }));
+        }
+        for(java.util.concurrent.Future<?> f : done) f.get();
+        pool.shutdown();
+
+        LatencyHistogram all = new LatencyHistogram();
+        for(LatencyHistogram h : hists) all.merge(h);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("Clients    : %,d connected, %d failed (%s threads, %d cores)%n", connected.get(), failed.get(), threadKind(pool), cores);
+        System.out.printf("Turns      : %,d in %ds -> %,.0f turns/s (%,.0f per core)%n", all.count(), seconds, (double) all.count() / seconds, (double) all.count() / seconds / cores);
+        System.out.printf("Latency    : mean %.1f us, p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                all.mean() / 1e3, all.percentile(0.5) / 1e3, all.percentile(0.99) / 1e3, all.percentile(0.999) / 1e3, all.max() / 1e3);
+        System.out.printf("Sessions   : %,d concurrent (%,.0f per core)%n", connected.get(), (double) connected.get() / cores);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "serve";
+        if(mode.equals("load")) {
+            String address = args.length > 1 ? args[1] : "localhost:" + DEFAULT_PORT;
+            int clients = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+            int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+            int boardSize = args.length > 4 ? Integer.parseInt(args[4]) : BoardModel.DEFAULT_SIZE;
+            int players = args.length > 5 ? Integer.parseInt(args[5]) : 2;
+            load(address, clients, seconds, boardSize, players);
+            return;
+        }
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        GameServer s = new GameServer(port);
+        System.out.printf("GameServer listening on localhost:%d (%s threads)%n", s.getPort(), s.getThreadKind());
+        while(true) {
+            Thread.sleep(10_000);
+            System.out.printf("Sessions: %,d active, %,d turns served%n", s.getActiveSessions(), s.getTurnsServed());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+// ==========================================
+// LATENCY HISTOGRAM (LOG-LINEAR, FIXED SIZE)
+// Bucket = eksponen biner + 3 bit mantissa -> error relatif maks 12.5%, rentang 1 ns .. 2^63 ns.
+// record() O(1) tanpa alokasi. Tidak thread-safe: satu histogram per thread, lalu merge().
+// ==========================================
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3, SUB = 1 << SUB_BITS;
+    private final long[] counts = new long[64 * SUB];
+    private long total, max, sum;
+
+    public void record(long value) {
+        if(value < 0) value = 0;
+        counts[index(value)]++;
+        total++; sum += value;
+        if(value > max) max = value;
+    }
+
+    public void merge(LatencyHistogram o) {
+        for(int i=0; i<counts.length; i++) counts[i] += o.counts[i];
+        total += o.total; sum += o.sum; max = Math.max(max, o.max);
+    }
+
+    public void reset() { java.util.Arrays.fill(counts, 0); total = 0; sum = 0; max = 0; }
+
+    public long count() { return total; }
+    public long max() { return max; }
+    public double mean() { return total == 0 ? 0 : (double) sum / total; }
+
+    // Batas atas bucket yang memuat kuantil q (0..1)
+    public long percentile(double q) {
+        if(total == 0) return 0;
+        long rank = (long) Math.ceil(q * total), seen = 0;
+        for(int i=0; i<counts.length; i++) {
+            seen += counts[i];
+            if(seen >= Math.max(1, rank)) return Math.min(max, upper(i));
+        }
+        return max;
+    }
+
+    private static int index(long v) {
+        int e = 63 - Long.numberOfLeadingZeros(v | 1);
+        if(e < SUB_BITS) return (int) v; // nilai kecil: exact
+        return e * SUB + (int) ((v >>> (e - SUB_BITS)) & (SUB - 1));
+    }
+
+    private static long upper(int i) {
+        int e = i / SUB, sub = i % SUB;
+        if(e < SUB_BITS) return i;
+        return ((long) (SUB | sub) + 1 << (e - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,154 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// ==========================================
+// GLOBAL LEADERBOARD
+// Indexable skip list, urut skor turun lalu nama naik. Setiap link menyimpan
+// lebar (jumlah node yang dilompati) -> top-N, rank pemain, dan tetangga
+// di sekitar rank semuanya O(log n). Diupdate otomatis dari ScoreStore.
+// ==========================================
+public class Leaderboard implements ScoreStore.Listener {
+    private static final int MAX_LEVEL = 32;
+
+    public static final class Entry {
+        public final int rank, score; public final String name;
+        Entry(int rank, String name, int score) { this.rank = rank; this.name = name; this.score = score; }
+    }
+
+    private static final class Node {
+        final String name; final int score;
+        final Node[] next; final int[] width;
+        Node(String name, int score, int level) { this.name = name; this.score = score; next = new Node[level]; width = new int[level]; }
+    }
+
+    private final Node head = new Node(null, Integer.MAX_VALUE, MAX_LEVEL);
+    private final Node[] update = new Node[MAX_LEVEL];
+    private final int[] updateRank = new int[MAX_LEVEL];
+    private final SplittableRandom random = new SplittableRandom();
+    private int level = 1, size;
+    private List<Node> staged; // isi awal dari store, hanya ada selama attach()
+
+    // Isi dari store lalu ikuti setiap perubahan. Bulk build jalan di sini (thread pemanggil,
+    // mis. AssetLoader) supaya tidak jatuh ke EDT saat score pertama disimpan.
+    public static Leaderboard attach(ScoreStore store) {
+        Leaderboard lb = new Leaderboard();
+        lb.staged = new ArrayList<>();
+        store.addListener(lb, lb::stage);
+        lb.build();
+        return lb;
+    }
+
+    private synchronized void stage(String name, int score) { staged.add(new Node(name, score, randomLevel())); }
+
+    // Bulk load: sort sekali lalu sambung berurutan, O(n log n) tanpa search per node
+    private synchronized void build() {
+        if(staged == null) return;
+        List<Node> nodes = staged; staged = null;
+        nodes.sort((a, b) -> a.score != b.score ? Integer.compare(b.score, a.score) : a.name.compareTo(b.name));
+        Node[] last = new Node[MAX_LEVEL]; int[] lastRank = new int[MAX_LEVEL];
+        java.util.Arrays.fill(last, head);
+        int rank = 0;
+        for(Node n : nodes) {
+            rank++;
+            for(int i=0; i<n.next.length; i++) { last[i].next[i] = n; last[i].width[i] = rank - lastRank[i]; last[i] = n; lastRank[i] = rank; }
+            level = Math.max(level, n.next.length);
+        }
+        for(int i=0; i<level; i++) last[i].width[i] = rank - lastRank[i];
+        size = rank;
+    }
+
+    @Override
+    public synchronized void improved(String name, int oldScore, int newScore) {
+        if(staged != null) { // perubahan sebelum build() di attach selesai: ikut di-stage
+            staged.removeIf(n -> n.name.equals(name));
+            stage(name, newScore);
+            return;
+        }
+        remove(name, oldScore); // no-op jika nama baru
+        put(name, newScore);
+    }
+
+    public synchronized int size() { return size; }
+
+    private int randomLevel() {
+        int lvl = 1;
+        while(lvl < MAX_LEVEL && (random.nextInt() & 3) == 0) lvl++; // p = 1/4
+        return lvl;
+    }
+
+    // Node a di depan b?
+    private static boolean before(Node n, String name, int score) {
+        return n.score > score || (n.score == score && n.name.compareTo(name) < 0);
+    }
+
+    public synchronized void put(String name, int score) {
+        Node x = head; int rank = 0;
+        for(int i=level-1; i>=0; i--) {
+            while(x.next[i] != null && before(x.next[i], name, score)) { rank += x.width[i]; x = x.next[i]; }
+            update[i] = x; updateRank[i] = rank;
+        }
+        int lvl = randomLevel();
+        if(lvl > level) {
+            for(int i=level; i<lvl; i++) { update[i] = head; updateRank[i] = 0; head.width[i] = size; }
+            level = lvl;
+        }
+        Node n = new Node(name, score, lvl);
+        for(int i=0; i<lvl; i++) {
+            n.next[i] = update[i].next[i];
+            update[i].next[i] = n;
+            n.width[i] = update[i].width[i] - (rank - updateRank[i]);
+            update[i].width[i] = rank - updateRank[i] + 1;
+        }
+        for(int i=lvl; i<level; i++) update[i].width[i]++;
+        size++;
+    }
+
+    public synchronized boolean remove(String name, int score) {
+        Node x = head;
+        for(int i=level-1; i>=0; i--) {
+            while(x.next[i] != null && before(x.next[i], name, score)) x = x.next[i];
+            update[i] = x;
+        }
+        Node n = x.next[0];
+        if(n == null || n.score != score || !n.name.equals(name)) return false;
+        for(int i=0; i<level; i++) {
+            if(update[i].next[i] == n) { update[i].width[i] += n.width[i] - 1; update[i].next[i] = n.next[i]; }
+            else update[i].width[i]--;
+        }
+        while(level > 1 && head.next[level-1] == null) level--;
+        size--;
+        return true;
+    }
+
+    // Rank 1-based, 0 jika tidak ada
+    public synchronized int rankOf(String name, int score) {
+        Node x = head; int rank = 0;
+        for(int i=level-1; i>=0; i--) {
+            while(x.next[i] != null && (before(x.next[i], name, score) || x.next[i].name.equals(name) && x.next[i].score == score)) {
+                rank += x.width[i]; x = x.next[i];
+            }
+            if(x != head && x.score == score && x.name.equals(name)) return rank;
+        }
+        return 0;
+    }
+
+    public synchronized List<Entry> top(int n) { return range(1, n); }
+
+    // radius entri di atas & bawah rank
+    public synchronized List<Entry> around(int rank, int radius) {
+        int from = Math.max(1, rank - radius);
+        return range(from, rank + radius - from + 1);
+    }
+
+    public synchronized List<Entry> range(int fromRank, int count) {
+        List<Entry> out = new ArrayList<>(Math.max(0, Math.min(count, size)));
+        if(fromRank < 1 || fromRank > size) return out;
+        Node x = head; int rank = 0;
+        for(int i=level-1; i>=0; i--) {
+            while(x.next[i] != null && rank + x.width[i] <= fromRank) { rank += x.width[i]; x = x.next[i]; }
+        }
+        for(; x != null && out.size() < count; x = x.next[0], rank++) out.add(new Entry(rank, x.name, x.score));
+        return out;
+    }
+}
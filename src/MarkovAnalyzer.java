@@ -0,0 +1,258 @@
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// ==========================================
+// MARKOV-CHAIN ANALYZER
+// Perjalanan satu pemain = rantai Markov di tile 1..finish (finish = absorbing).
+// Matriks transisi sparse dibangun dari aturan GameEngine (dadu hijau/merah 70/30,
+// shortcut dari tile prima saat overflow, tanpa bounce). Pemain tidak saling
+// mempengaruhi, jadi hasil multi-player diturunkan dari distribusi satu pemain.
+// Semua iterasi (Jacobi + propagasi massa) paralel per blok tile.
+// Usage: java MarkovAnalyzer [boardSize] [seed] [players]
+// ==========================================
+public class MarkovAnalyzer {
+    private static final double EPS = 1e-12;       // sisa massa / delta untuk berhenti
+    private static final int MAX_ITER = 10_000_000;
+    private static final int BLOCK = 1024;         // tile per task paralel
+
+    // Matriks sparse CSR, baris = tile (index 0 tidak dipakai)
+    static final class Sparse {
+        final int n; final int[] start, col; final double[] val;
+        Sparse(int n, int[] start, int[] col, double[] val) { this.n = n; this.start = start; this.col = col; this.val = val; }
+
+        Sparse transpose() {
+            int[] ts = new int[n + 2], tc = new int[col.length]; double[] tv = new double[col.length];
+            for(int k=0; k<start[n+1]; k++) ts[col[k] + 1]++;
+            for(int i=1; i<=n+1; i++) ts[i] += ts[i-1];
+            int[] fill = ts.clone();
+            for(int r=1; r<=n; r++) for(int k=start[r]; k<start[r+1]; k++) { int f = fill[col[k]]++; tc[f] = r; tv[f] = val[k]; }
+            return new Sparse(n, ts, tc, tv);
+        }
+    }
+
+    public static final class Report {
+        public final double[] throwsPmf, roundsPmf, scorePmf; // P(X = k), index k
+        public final double[] expectedThrows, expectedRounds; // per tile awal
+        Report(double[] t, double[] r, double[] s, double[] et, double[] er) { throwsPmf = t; roundsPmf = r; scorePmf = s; expectedThrows = et; expectedRounds = er; }
+
+        // Expected jumlah round game dengan p pemain: sum P(semua belum finish setelah r round)
+        public double expectedGameRounds(int players) {
+            double e = 0, s = 1;
+            for(int r=0; r<roundsPmf.length; r++) { s -= roundsPmf[r]; e += Math.pow(Math.max(0, s), players); }
+            return e;
+        }
+
+        // Peluang menang per seat: seat lebih awal menang jika finish di round yang sama
+        public double[] seatWinChance(int players) {
+            double[] w = new double[players];
+            double before = 1; // P(R > r-1)
+            for(int r=0; r<roundsPmf.length; r++) {
+                double after = Math.max(0, before - roundsPmf[r]); // P(R > r)
+                for(int i=0; i<players; i++) w[i] += roundsPmf[r] * Math.pow(after, i) * Math.pow(before, players - 1 - i);
+                before = after;
+            }
+            return w;
+        }
+    }
+
+    public static Report analyze(BoardModel board) {
+        Sparse p = throwMatrix(board), q = roundMatrix(board, p);
+        Sparse pt = p.transpose(), qt = q.transpose();
+        int[] pts = new int[board.tiles + 1];
+        for(int i=1; i<=board.tiles; i++) pts[i] = board.getPoint(i);
+        return new Report(distribution(pt, null), distribution(qt, null), distribution(pt, pts), expectation(p), expectation(q));
+    }
+
+    // ==========================================
+    // TRANSITION MATRICES
+    // ==========================================
+    // Satu lemparan: 12 hasil dadu per tile, tujuan yang sama digabung
+    static Sparse throwMatrix(BoardModel board) {
+        int n = board.tiles, d = GameEngine.MAX_DICE;
+        int[] start = new int[n + 2], col = new int[(n - 1) * 2 * d], path = new int[d];
+        double[] val = new double[col.length];
+        double pg = GameEngine.Rules.DEFAULT.greenChance / d, pr = (1 - GameEngine.Rules.DEFAULT.greenChance) / d;
+        int k = 0;
+        for(int t=1; t<=n; t++) {
+            start[t] = k;
+            if(t == n) continue; // finish: absorbing, tanpa transisi keluar
+            for(int v=1; v<=d; v++) {
+                k = add(col, val, start[t], k, throwEnd(board, t, v, true, path), pg);
+                k = add(col, val, start[t], k, throwEnd(board, t, v, false, path), pr);
+            }
+        }
+        start[n+1] = k;
+        return new Sparse(n, start, col, val);
+    }
+
+    // Tujuan akhir satu lemparan, sama dengan GameEngine.playTurn
+    static int throwEnd(BoardModel board, int cur, int val, boolean green, int[] path) {
+        int len = GameEngine.genPath(cur, green ? val : -val, board.tiles, path);
+        int end = len == 0 ? cur : path[len-1];
+        if(green && board.prime[cur]) {
+            int hit = GameEngine.findShortcut(cur, val, path, len, board.shortcut);
+            if(hit != -1) end = board.shortcut[path[hit]];
+        }
+        return end;
+    }
+
+    // Satu round: lempar terus selama mendarat di tile double turn
+    static Sparse roundMatrix(BoardModel board, Sparse p) {
+        int n = board.tiles;
+        double[] mass = new double[n + 1], out = new double[n + 1];
+        int[] frontier = new int[n], next = new int[n], touched = new int[n];
+        boolean[] inFrontier = new boolean[n + 1], inOut = new boolean[n + 1];
+        int[] start = new int[n + 2];
+        IntList col = new IntList(p.col.length); DoubleList val = new DoubleList(p.col.length);
+        for(int t=1; t<=n; t++) {
+            start[t] = col.size;
+            if(t == n) continue;
+            int fn = 1, tn = 0; frontier[0] = t; mass[t] = 1;
+            while(fn > 0) {
+                int nn = 0;
+                for(int f=0; f<fn; f++) {
+                    int s = frontier[f]; double m = mass[s]; mass[s] = 0; inFrontier[s] = false;
+                    for(int k=p.start[s]; k<p.start[s+1]; k++) {
+                        int u = p.col[k]; double x = m * p.val[k];
+                        if(u != n && GameEngine.Rules.DEFAULT.isDoubleTurn(u)) {
+                            if(!inFrontier[u]) { inFrontier[u] = true; next[nn++] = u; }
+                            mass[u] += x;
+                        } else {
+                            if(!inOut[u]) { inOut[u] = true; touched[tn++] = u; }
+                            out[u] += x;
+                        }
+                    }
+                }
+                // Buang cabang double turn yang sudah di bawah EPS (deret geometri)
+                fn = 0;
+                for(int i=0; i<nn; i++) {
+                    int u = next[i];
+                    if(mass[u] < EPS) { mass[u] = 0; inFrontier[u] = false; } else frontier[fn++] = u;
+                }
+            }
+            for(int i=0; i<tn; i++) { int u = touched[i]; col.add(u); val.add(out[u]); out[u] = 0; inOut[u] = false; }
+        }
+        start[n+1] = col.size;
+        return new Sparse(n, start, col.data, val.data);
+    }
+
+    private static int add(int[] col, double[] val, int from, int k, int u, double x) {
+        for(int i=from; i<k; i++) if(col[i] == u) { val[i] += x; return k; }
+        col[k] = u; val[k] = x; return k + 1;
+    }
+
+    // ==========================================
+    // PARALLEL ITERATION
+    // ==========================================
+    // Jacobi: E = 1 + M E, E[finish] = 0
+    static double[] expectation(Sparse m) {
+        int n = m.n;
+        double[] e = new double[n + 1], nx = new double[n + 1];
+        double[] delta = new double[(n + BLOCK - 1) / BLOCK];
+        for(int it=0; it<MAX_ITER; it++) {
+            double[] cur = e, dst = nx;
+            forBlocks(n, (b, lo, hi) -> {
+                double dm = 0;
+                for(int t=lo; t<=hi; t++) {
+                    double s = t == n ? 0 : 1;
+                    for(int k=m.start[t]; k<m.start[t+1]; k++) s += m.val[k] * cur[m.col[k]];
+                    dm = Math.max(dm, Math.abs(s - cur[t])); dst[t] = s;
+                }
+                delta[b] = dm;
+            });
+            e = dst; nx = cur;
+            double max = 0; for(double x : delta) max = Math.max(max, x);
+            if(max < EPS * Math.max(1, e[1])) break;
+        }
+        return e;
+    }
+
+    // Propagasi massa dari tile 1 sampai massa yang belum finish < EPS.
+    // cost == null: satu langkah per transisi (distribusi lemparan/round),
+    // selain itu langkah = cost[tujuan] (distribusi skor). Matriks mt = transpose (pull, bebas race).
+    static double[] distribution(Sparse mt, int[] cost) {
+        int n = mt.n;
+        double[][] ring = new double[4][n + 1]; // cost maks 3 -> 4 level cukup
+        double[] live = {1, 0, 0, 0};           // massa non-finish per level di ring
+        double[] blockLive = new double[(n + BLOCK - 1) / BLOCK];
+        ring[0][1] = 1;
+        DoubleList pmf = new DoubleList(1024); pmf.add(0);
+        for(int s=1; s<MAX_ITER && live[0] + live[1] + live[2] + live[3] - live[s & 3] > EPS; s++) {
+            int level = s;
+            double[] dst = ring[s & 3];
+            forBlocks(n, (b, lo, hi) -> {
+                double sum = 0;
+                for(int u=lo; u<=hi; u++) {
+                    double[] src = ring[(level - (cost == null ? 1 : cost[u])) & 3];
+                    double x = 0;
+                    for(int k=mt.start[u]; k<mt.start[u+1]; k++) x += mt.val[k] * src[mt.col[k]];
+                    dst[u] = x; if(u != n) sum += x;
+                }
+                blockLive[b] = sum;
+            });
+            double sum = 0; for(double x : blockLive) sum += x;
+            live[s & 3] = sum;
+            pmf.add(dst[n]);
+        }
+        return java.util.Arrays.copyOf(pmf.data, pmf.size);
+    }
+
+    interface BlockBody { void run(int block, int lo, int hi); }
+
+    private static void forBlocks(int n, BlockBody body) {
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        if(blocks == 1) { body.run(0, 1, n); return; }
+        IntStream.range(0, blocks).parallel().forEach(b -> body.run(b, b * BLOCK + 1, Math.min(n, (b + 1) * BLOCK)));
+    }
+
+    // ==========================================
+    // PRIMITIVE LISTS
+    // ==========================================
+    private static final class IntList {
+        int[] data; int size;
+        IntList(int cap) { data = new int[Math.max(1, cap)]; }
+        void add(int x) { if(size == data.length) data = java.util.Arrays.copyOf(data, size * 2); data[size++] = x; }
+    }
+
+    private static final class DoubleList {
+        double[] data; int size;
+        DoubleList(int cap) { data = new double[Math.max(1, cap)]; }
+        void add(double x) { if(size == data.length) data = java.util.Arrays.copyOf(data, size * 2); data[size++] = x; }
+    }
+
+    // ==========================================
+    // REPORT
+    // ==========================================
+    public static double mean(double[] pmf) { double m = 0; for(int k=0; k<pmf.length; k++) m += k * pmf[k]; return m; }
+
+    public static int percentile(double[] pmf, double q) {
+        double c = 0;
+        for(int k=0; k<pmf.length; k++) { c += pmf[k]; if(c >= q) return k; }
+        return pmf.length - 1;
+    }
+
+    public static void main(String[] args) {
+        int boardSize = args.length > 0 ? Integer.parseInt(args[0]) : BoardModel.DEFAULT_SIZE;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        // Board sama dengan new GameEngine(board, players, seed)
+        BoardModel board = new BoardModel(boardSize);
+        SplittableRandom random = new SplittableRandom(seed);
+        board.randomizePoints(random);
+        board.genShortcuts(BoardModel.defaultShortcutCount(board.tiles), random);
+
+        long t0 = System.nanoTime();
+        Report r = analyze(board);
+        double sec = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("Board      : %dx%d (%,d tiles, %d shortcuts, seed %d)%n", boardSize, boardSize, board.tiles, board.getShortcutCount(), seed);
+        System.out.printf("Throws     : %.3f expected, p50 %d, p90 %d, p99 %d%n", r.expectedThrows[1], percentile(r.throwsPmf, 0.5), percentile(r.throwsPmf, 0.9), percentile(r.throwsPmf, 0.99));
+        System.out.printf("Rounds     : %.3f expected (double turns dihitung), p50 %d, p99 %d%n", r.expectedRounds[1], percentile(r.roundsPmf, 0.5), percentile(r.roundsPmf, 0.99));
+        System.out.printf("Score      : %.3f expected at finish, p10 %d, p50 %d, p90 %d%n", mean(r.scorePmf), percentile(r.scorePmf, 0.1), percentile(r.scorePmf, 0.5), percentile(r.scorePmf, 0.9));
+        System.out.printf("Game       : %.3f expected rounds with %d players%n", r.expectedGameRounds(players), players);
+        double[] w = r.seatWinChance(players);
+        for(int i=0; i<players; i++) System.out.printf("Seat P%d    : %.2f%% wins%n", i+1, 100 * w[i]);
+        System.out.printf("Time       : %.2fs%n", sec);
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// ==========================================
+// MONTE-CARLO BOT (TIME-BUDGETED, PARALLEL)
+// Rollout dari state sekarang (posisi, skor, antrian, board + shortcuts) sampai waktu habis.
+// Satu worker per core, masing-masing punya GameEngine + array sendiri -> rollout tanpa alokasi.
+// Board hanya dibaca dan tidak boleh berubah selama estimate() jalan; caller yang masih
+// mengubah board-nya (GUI: newBoard saat restart) mengirim board.snapshot().
+// Usage: java MonteCarloBot [boardSize] [players] [budgetMs] [seed]
+// ==========================================
+public class MonteCarloBot {
+    public static final long DEFAULT_BUDGET_MS = 20;
+    private static final int CHUNK_TURNS = 256; // cek deadline tiap sekian turn dalam satu rollout
+
+    public static class Estimate {
+        public final int pid;
+        public final long rollouts, wins, nanos;
+        Estimate(int pid, long rollouts, long wins, long nanos) { this.pid = pid; this.rollouts = rollouts; this.wins = wins; this.nanos = nanos; }
+
+        public double winChance() { return rollouts == 0 ? Double.NaN : (double) wins / rollouts; }
+
+        // Standard error estimasi (binomial)
+        public double error() { double p = winChance(); return rollouts == 0 ? Double.NaN : Math.sqrt(p * (1 - p) / rollouts); }
+    }
+
+    private static class Worker implements Callable<Void> {
+        private final long seed;
+        private GameEngine g;
+        private int[] pos, score, order;
+        private int me;
+        private long deadline, rollouts, wins;
+
+        Worker(long seed) { this.seed = seed; }
+
+        void load(BoardModel board, int[] position, int[] points, int[] queue, int pid, long deadline) {
+            int players = position.length;
+            if(g == null || g.getBoard() != board || g.getPlayerCount() != players) {
+                g = GameEngine.onBoard(board, players, seed);
+                pos = new int[players]; score = new int[players]; order = new int[players];
+            }
+            System.arraycopy(position, 0, pos, 0, players);
+            System.arraycopy(points, 0, score, 0, players);
+            System.arraycopy(queue, 0, order, 0, players);
+            me = pid; this.deadline = deadline;
+        }
+
+        @Override public Void call() {
+            rollouts = 0; wins = 0;
+            while(System.nanoTime() < deadline) {
+                g.setState(pos, score, order);
+                int w;
+                do w = g.playGame(g.turns + CHUNK_TURNS);
+                while(w == 0 && g.turns < MonteCarloSimulator.MAX_TURNS && System.nanoTime() < deadline);
+                if(w == 0 && g.turns < MonteCarloSimulator.MAX_TURNS) break; // terpotong deadline: tidak dihitung
+                rollouts++;
+                if(w == me) wins++;
+            }
+            return null;
+        }
+    }
+
+    private final ExecutorService pool;
+    private final List<Worker> workers = new ArrayList<>();
+
+    public MonteCarloBot() { this(Runtime.getRuntime().availableProcessors(), System.nanoTime()); }
+
+    public MonteCarloBot(int threads, long seed) {
+        pool = Executors.newFixedThreadPool(threads, r -> { Thread t = new Thread(r, "MonteCarloBot"); t.setDaemon(true); return t; });
+        for(int i=0; i<threads; i++) workers.add(new Worker(MonteCarloSimulator.mix(seed, i)));
+    }
+
+    public int getThreads() { return workers.size(); }
+
+    // Peluang menang pid dari state sekarang. queue = urutan giliran semua pemain, queue[0] = yang jalan berikutnya.
+    // Blocking selama budget; panggil di luar EDT.
+    public synchronized Estimate estimate(BoardModel board, int[] pos, int[] score, int[] queue, int pid, long budgetNanos) {
+        long t0 = System.nanoTime(), deadline = t0 + budgetNanos;
+        for(Worker w : workers) w.load(board, pos, score, queue, pid, deadline);
+        try {
+            for(Future<Void> f : pool.invokeAll(workers)) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollout failed", e.getCause());
+        }
+        long rollouts = 0, wins = 0;
+        for(Worker w : workers) { rollouts += w.rollouts; wins += w.wins; }
+        return new Estimate(pid, rollouts, wins, System.nanoTime() - t0);
+    }
+
+    public void shutdown() { pool.shutdownNow(); }
+
+    public static void main(String[] args) {
+        int boardSize = args.length > 0 ? Integer.parseInt(args[0]) : BoardModel.DEFAULT_SIZE;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long budgetMs = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_BUDGET_MS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        // Satu game penuh: setiap giliran pemain yang jalan minta estimasi dulu
+        GameEngine game = new GameEngine(new BoardModel(boardSize), players, seed);
+        MonteCarloBot bot = new MonteCarloBot(Runtime.getRuntime().availableProcessors(), seed);
+        int[] pos = new int[players], score = new int[players], queue = new int[players];
+        LatencyHistogram latency = new LatencyHistogram();
+        long rollouts = 0;
+        while(game.winner == 0 && game.turns < MonteCarloSimulator.MAX_TURNS) {
+            for(int p=1; p<=players; p++) { pos[p-1] = game.getPosition(p); score[p-1] = game.getScore(p); }
+            game.queueOrder(queue);
+            Estimate e = bot.estimate(game.getBoard(), pos, score, queue, queue[0], budgetMs * 1_000_000);
+            latency.record(e.nanos); rollouts += e.rollouts;
+            int pid = game.playTurn();
+            System.out.printf("Turn %4d  P%d  tile %5d -> %5d  win %5.1f%% +/- %.1f%%  (%,d rollouts)%n",
+                game.turns, pid, game.lastFrom, game.getPosition(pid), 100 * e.winChance(), 100 * e.error(), e.rollouts);
+        }
+        System.out.printf("Winner     : P%d after %d turns (%dx%d board, seed %d)%n", game.winner, game.turns, boardSize, boardSize, seed);
+        System.out.printf("Rollouts   : %,d total, %,.0f / decision on %d threads%n", rollouts, (double) rollouts / latency.count(), bot.getThreads());
+        System.out.printf("Latency    : p50 %.1f ms, p99 %.1f ms, max %.1f ms (budget %d ms)%n",
+            latency.percentile(0.5) / 1e6, latency.percentile(0.99) / 1e6, latency.max() / 1e6, budgetMs);
+        bot.shutdown();
+    }
+}
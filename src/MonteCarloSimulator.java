@@ -0,0 +1,87 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// ==========================================
+// MONTE-CARLO BATCH SIMULATOR (FORK/JOIN)
+// Usage: java MonteCarloSimulator [games] [players] [seed] [boardSize]
+// ==========================================
+public class MonteCarloSimulator {
+    public static final int MAX_TURNS = 100_000;
+    private static final int LEAF_GAMES = 20_000;
+
+    public static class Stats {
+        public long games, turns, unfinished, shortcuts, doubleTurns, totalScore;
+        public final long[] wins;
+        public Stats(int players) { wins = new long[players]; }
+
+        void merge(Stats o) {
+            games += o.games; turns += o.turns; unfinished += o.unfinished;
+            shortcuts += o.shortcuts; doubleTurns += o.doubleTurns; totalScore += o.totalScore;
+            for(int i=0; i<wins.length; i++) wins[i] += o.wins[i];
+        }
+    }
+
+    private static class SimTask extends RecursiveTask<Stats> {
+        private final int players, boardSize;
+        private final long from, to, seed;
+
+        SimTask(int players, int boardSize, long from, long to, long seed) {
+            this.players = players; this.boardSize = boardSize; this.from = from; this.to = to; this.seed = seed;
+        }
+
+        @Override protected Stats compute() {
+            if(to - from <= LEAF_GAMES) return simulate();
+            long mid = (from + to) >>> 1;
+            SimTask left = new SimTask(players, boardSize, from, mid, seed);
+            left.fork();
+            Stats s = new SimTask(players, boardSize, mid, to, seed).compute();
+            s.merge(left.join());
+            return s;
+        }
+
+        // Satu engine per leaf, dipakai ulang untuk semua game di leaf ini
+        private Stats simulate() {
+            Stats s = new Stats(players);
+            GameEngine g = new GameEngine(new BoardModel(boardSize), players, mix(seed, from));
+            for(long i=from; i<to; i++) {
+                if(i != from) { g.newBoard(); g.reset(); }
+                int w = g.playGame(MAX_TURNS);
+                s.games++; s.turns += g.turns; s.shortcuts += g.shortcutsTaken; s.doubleTurns += g.doubleTurns;
+                for(int p=1; p<=players; p++) s.totalScore += g.getScore(p);
+                if(w == 0) s.unfinished++; else s.wins[w-1]++;
+            }
+            return s;
+        }
+    }
+
+    // Seed per leaf dari seed utama + offset game (SplitMix64 finalizer)
+    static long mix(long seed, long offset) {
+        long z = seed + offset * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static Stats run(int players, int boardSize, long games, long seed) {
+        return ForkJoinPool.commonPool().invoke(new SimTask(players, boardSize, 0, games, seed));
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int boardSize = args.length > 3 ? Integer.parseInt(args[3]) : BoardModel.DEFAULT_SIZE;
+
+        long t0 = System.nanoTime();
+        Stats s = run(players, boardSize, games, seed);
+        double sec = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("Games      : %,d (%d players, %dx%d board, seed %d, %d threads)%n", s.games, players, boardSize, boardSize, seed, ForkJoinPool.getCommonPoolParallelism());
+        System.out.printf("Turns      : %,d (%.2f / game)%n", s.turns, (double) s.turns / s.games);
+        System.out.printf("Shortcuts  : %.3f / game, Double turns: %.3f / game%n", (double) s.shortcuts / s.games, (double) s.doubleTurns / s.games);
+        System.out.printf("Avg score  : %.2f / player%n", (double) s.totalScore / (s.games * players));
+        for(int i=0; i<players; i++) System.out.printf("Seat P%d    : %.2f%% wins%n", i+1, 100.0 * s.wins[i] / s.games);
+        if(s.unfinished > 0) System.out.printf("Unfinished : %,d%n", s.unfinished);
+        System.out.printf("Time       : %.2fs -> %,.0f turns/s%n", sec, s.turns / sec);
+    }
+}
@@ -0,0 +1,289 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32;
+
+// ==========================================
+// HIGH SCORE STORAGE ENGINE
+// Skor terbaik per nama di hash table primitif (open addressing) di memori.
+// Perubahan ditulis ke journal append-only oleh satu writer thread, lalu
+// dipadatkan berkala ke snapshot (tulis tmp + fsync + atomic rename).
+// Startup: snapshot -> (import .properties lama jika belum ada snapshot) -> replay journal.
+// ==========================================
+public class ScoreStore implements Closeable {
+    private static final int MAGIC = 0x534E4853; // "SNHS"
+    private static final int VERSION = 1;
+    private static final int COMPACT_EVERY = 50_000; // record journal sebelum compaction
+    private static final int MAX_KEY_BYTES = 65_535;  // batas writeUTF di snapshot
+    private static final int COPY_CHUNK = 16_384;     // slot yang disalin per lock saat compaction
+
+    private final Path snapshot, journal, legacy;
+    private FileChannel journalOut;
+    private int journalRecords;
+
+    // Hash table: keys[i] == null berarti slot kosong
+    private String[] keys = new String[1024];
+    private int[] values = new int[1024];
+    private int size;
+
+    private final LinkedBlockingQueue<Object> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed; // diubah + STOP di-enqueue di bawah lock yang sama dengan submit
+
+    public interface Listener { void improved(String key, int oldScore, int newScore); }
+    private final java.util.List<Listener> listeners = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    private static final class Entry { final String key; final int score; Entry(String k, int s) { key = k; score = s; } }
+    private static final class Barrier { final CountDownLatch done = new CountDownLatch(1); final boolean compact; Barrier(boolean c) { compact = c; } }
+    private static final Object STOP = new Object();
+
+    public ScoreStore(String baseName) throws IOException {
+        snapshot = Paths.get(baseName + ".snapshot");
+        journal = Paths.get(baseName + ".journal");
+        legacy = Paths.get(baseName + ".properties");
+
+        boolean imported = false;
+        if(!loadSnapshot() && Files.exists(legacy)) { importProperties(); imported = true; }
+        long good = replayJournal();
+        journalOut = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        journalOut.truncate(good); journalOut.position(good); // buang record terakhir yang sobek
+        if(imported || journalRecords >= COMPACT_EVERY) compact();
+
+        writer = new Thread(this::writeLoop, "ScoreStore-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeQuietly, "ScoreStore-shutdown"));
+    }
+
+    public synchronized int get(String key) {
+        int i = slot(key);
+        return keys[i] == null ? 0 : values[i];
+    }
+
+    public synchronized int size() { return size; }
+
+    // Simpan jika lebih baik dari skor lama. Tidak pernah menunggu disk.
+    // Setelah close() tidak ada yang diterima: true selalu berarti record masuk journal sebelum STOP.
+    public boolean submit(String key, int score) {
+        if(key.getBytes(StandardCharsets.UTF_8).length > MAX_KEY_BYTES / 3) throw new IllegalArgumentException("Name too long");
+        synchronized (this) {
+            if(closed) return false;
+            int i = slot(key), old = keys[i] == null ? 0 : values[i];
+            if(keys[i] != null && old >= score) return false;
+            put(i, key, score);
+            for(Listener l : listeners) l.improved(key, old, score);
+            pending.add(new Entry(key, score));
+        }
+        return true;
+    }
+
+    public synchronized void forEach(ObjIntConsumer<String> action) {
+        for(int i=0; i<keys.length; i++) if(keys[i] != null) action.accept(keys[i], values[i]);
+    }
+
+    // Kirim isi sekarang ke existing, lalu daftarkan listener (atomik terhadap submit)
+    public synchronized void addListener(Listener l, ObjIntConsumer<String> existing) {
+        forEach(existing);
+        listeners.add(l);
+    }
+
+    // Tunggu sampai semua submit sebelumnya sudah di-fsync
+    public void flush() throws InterruptedException { await(new Barrier(false)); }
+
+    public void compactNow() throws InterruptedException { await(new Barrier(true)); }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if(closed) return;
+            closed = true;
+            pending.add(STOP);
+        }
+        // join di luar lock: compaction terakhir di writer butuh lock ini
+        try { writer.join(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    private void closeQuietly() { close(); }
+
+    private void await(Barrier b) throws InterruptedException {
+        synchronized (this) {
+            if(closed) return;
+            pending.add(b);
+        }
+        b.done.await();
+    }
+
+    // ==========================================
+    // HASH TABLE
+    // ==========================================
+    private int slot(String key) {
+        int mask = keys.length - 1, h = key.hashCode() * 0x9E3779B9, i = (h ^ (h >>> 16)) & mask;
+        while(keys[i] != null && !keys[i].equals(key)) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void put(int i, String key, int score) {
+        if(keys[i] == null) {
+            keys[i] = key; values[i] = score;
+            if(++size * 2 > keys.length) grow();
+        } else values[i] = score;
+    }
+
+    private void grow() {
+        String[] ok = keys; int[] ov = values;
+        keys = new String[ok.length * 2]; values = new int[ok.length * 2];
+        for(int j=0; j<ok.length; j++) if(ok[j] != null) { int i = slot(ok[j]); keys[i] = ok[j]; values[i] = ov[j]; }
+    }
+
+    private void load(String key, int score) {
+        int i = slot(key);
+        if(keys[i] == null || values[i] < score) put(i, key, score);
+    }
+
+    // ==========================================
+    // WRITER THREAD
+    // ==========================================
+    private void writeLoop() {
+        ByteBuffer buf = ByteBuffer.allocate(MAX_KEY_BYTES + 12);
+        java.util.ArrayList<Object> batch = new java.util.ArrayList<>();
+        while(true) {
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch);
+                boolean stop = false, compact = false;
+                for(Object o : batch) {
+                    if(o instanceof Entry) { append(buf, (Entry) o); }
+                    else if(o instanceof Barrier) compact |= ((Barrier) o).compact;
+                    else if(o == STOP) stop = true;
+                }
+                drain(buf);
+                journalOut.force(false);
+                if(compact || stop || journalRecords >= COMPACT_EVERY) compact();
+                for(Object o : batch) if(o instanceof Barrier) ((Barrier) o).done.countDown();
+                batch.clear();
+                if(stop) { journalOut.close(); return; }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                e.printStackTrace();
+                for(Object o : batch) if(o instanceof Barrier) ((Barrier) o).done.countDown();
+                batch.clear();
+            }
+        }
+    }
+
+    // Record journal: [len][utf8 name][score][crc32]
+    private void append(ByteBuffer buf, Entry e) throws IOException {
+        byte[] name = e.key.getBytes(StandardCharsets.UTF_8);
+        if(buf.remaining() < name.length + 12) drain(buf);
+        buf.putInt(name.length).put(name).putInt(e.score).putInt(checksum(name, e.score));
+        journalRecords++;
+    }
+
+    private static int checksum(byte[] name, int score) {
+        CRC32 crc = new CRC32();
+        crc.update(name); crc.update(score); crc.update(score >>> 8); crc.update(score >>> 16); crc.update(score >>> 24);
+        return (int) crc.getValue();
+    }
+
+    private void drain(ByteBuffer buf) throws IOException {
+        buf.flip();
+        while(buf.hasRemaining()) journalOut.write(buf);
+        buf.clear();
+    }
+
+    private long replayJournal() throws IOException {
+        if(!Files.exists(journal)) return 0;
+        long good = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            while(true) {
+                int len = in.readInt();
+                if(len < 0 || len > MAX_KEY_BYTES) break;
+                byte[] name = new byte[len];
+                in.readFully(name);
+                int score = in.readInt(), sum = in.readInt();
+                if(checksum(name, score) != sum) break;
+                load(new String(name, StandardCharsets.UTF_8), score);
+                good += len + 12; journalRecords++;
+            }
+        } catch (EOFException e) {
+            // Record terakhir sobek (crash saat append) -> berhenti di record utuh terakhir
+        }
+        return good;
+    }
+
+    // ==========================================
+    // SNAPSHOT
+    // ==========================================
+    // Table disalin per COPY_CHUNK slot supaya submit (EDT) tidak menunggu seluruh copy.
+    // Key hanya pindah slot saat grow -> grow di tengah copy = ulang dari awal. Entry yang masuk
+    // ke slot yang sudah disalin masih di antrian pending -> ditulis ke journal setelah compaction.
+    private void compact() throws IOException {
+        String[] ks; int[] vs; int n;
+        copy:
+        while(true) {
+            String[] table; int expected;
+            synchronized (this) { table = keys; expected = size; }
+            ks = new String[expected + expected / 8 + 16]; vs = new int[ks.length]; n = 0;
+            for(int from=0; from<table.length; from+=COPY_CHUNK) {
+                synchronized (this) {
+                    if(keys != table) continue copy;
+                    for(int i=from, to=Math.min(table.length, from + COPY_CHUNK); i<to; i++) {
+                        if(table[i] == null) continue;
+                        if(n == ks.length) { ks = Arrays.copyOf(ks, n * 2); vs = Arrays.copyOf(vs, n * 2); }
+                        ks[n] = table[i]; vs[n++] = values[i];
+                    }
+                }
+            }
+            break;
+        }
+
+        Path tmp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new java.util.zip.CheckedOutputStream(fos, crc), 64 * 1024))) {
+            out.writeInt(MAGIC); out.writeInt(VERSION); out.writeInt(n);
+            for(int i=0; i<n; i++) { out.writeUTF(ks[i]); out.writeInt(vs[i]); }
+            out.flush();
+            new DataOutputStream(fos).writeInt((int) crc.getValue());
+            fos.getFD().sync();
+        }
+        Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Snapshot sudah aman di disk -> journal boleh dikosongkan
+        journalOut.truncate(0); journalOut.position(0); journalOut.force(true);
+        journalRecords = 0;
+    }
+
+    private boolean loadSnapshot() throws IOException {
+        if(!Files.exists(snapshot)) return false;
+        byte[] data = Files.readAllBytes(snapshot);
+        if(data.length < 16) return false;
+        CRC32 crc = new CRC32(); crc.update(data, 0, data.length - 4);
+        if((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+            System.out.println("High score snapshot is corrupt, ignoring " + snapshot);
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4))) {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION) return false;
+            int n = in.readInt();
+            for(int i=0; i<n; i++) load(in.readUTF(), in.readInt());
+        }
+        return true;
+    }
+
+    private void importProperties() throws IOException {
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(legacy)) { p.load(in); }
+        for(String k : p.stringPropertyNames()) {
+            try { load(k.toLowerCase(), Integer.parseInt(p.getProperty(k).trim())); }
+            catch (NumberFormatException e) { System.out.println("Skipping bad high score entry: " + k); }
+        }
+    }
+}
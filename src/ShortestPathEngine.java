@@ -0,0 +1,132 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// ==========================================
+// SHORTEST PATH ENGINE
+// Graph: tiap tile punya edge untuk setiap hasil dadu (hijau/merah 1..6) dan
+// shortcut, dengan aturan yang sama seperti GameEngine.playTurn. BFS dijalankan
+// terbalik dari finish dengan predecessor implisit -> O(tiles) tanpa adjacency list.
+// Jarak dalam turn: bobot 1 per lemparan, kecuali landing di tile double turn (bukan finish)
+// = lempar lagi di turn yang sama -> bobot 0 (0-1 BFS dengan deque).
+// Tabel jarak di-cache per layout shortcut; turnsAsync menghitung dari snapshot layout
+// di executor lain (board boleh berubah setelahnya).
+// ==========================================
+public class ShortestPathEngine {
+    public static final int UNREACHABLE = -1;
+    private static final int CACHE_SIZE = 8;
+
+    private static final Map<Long, int[]> cache = new LinkedHashMap<Long, int[]>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Long, int[]> e) { return size() > CACHE_SIZE; }
+    };
+
+    // dist[id] = minimum turn dari tile id ke finish (index 0 tidak dipakai); double turn tidak dihitung sebagai turn baru
+    public static int[] turns(BoardModel board) {
+        long key = layoutHash(board);
+        synchronized (cache) {
+            int[] d = cache.get(key);
+            if(d != null && d.length == board.tiles + 1) return d;
+        }
+        int[] d = compute(board.tiles, board.shortcut, board.prime);
+        synchronized (cache) { cache.put(key, d); }
+        return d;
+    }
+
+    // turns() tanpa memblok caller: layout di-snapshot di thread caller, BFS jalan di executor
+    public static CompletableFuture<int[]> turnsAsync(BoardModel board, Executor executor) {
+        long key = layoutHash(board);
+        int n = board.tiles;
+        synchronized (cache) {
+            int[] d = cache.get(key);
+            if(d != null && d.length == n + 1) return CompletableFuture.completedFuture(d);
+        }
+        int[] shortcut = board.shortcut.clone();
+        boolean[] prime = board.prime; // tidak pernah berubah
+        return CompletableFuture.supplyAsync(() -> {
+            int[] d = compute(n, shortcut, prime);
+            synchronized (cache) { cache.put(key, d); }
+            return d;
+        }, executor);
+    }
+
+    // Hash layout: ukuran board + pasangan shortcut (tidak tergantung urutan)
+    public static long layoutHash(BoardModel board) {
+        long h = board.size * 0x9E3779B97F4A7C15L;
+        for(int i=0; i<board.getShortcutCount(); i++) {
+            int s = board.getShortcutSource(i);
+            h += MonteCarloSimulator.mix(s, board.getShortcut(s));
+        }
+        return h;
+    }
+
+    static int[] compute(int n, int[] shortcut, boolean[] prime) {
+        int maxDice = GameEngine.MAX_DICE;
+
+        // before[i] = jumlah sumber shortcut di tile < i
+        int[] before = new int[n + 2];
+        for(int i=1; i<=n; i++) before[i+1] = before[i] + (shortcut[i] != 0 ? 1 : 0);
+        int count = before[n+1];
+
+        // Predecessor via shortcut, dikelompokkan per tujuan (CSR)
+        int[] viaStart = new int[n + 2], via = new int[Math.max(1, count * (maxDice - 1))];
+        for(int s=1; s<=n; s++) if(shortcut[s] != 0) viaStart[shortcut[s] + 1] += maxDice - 1;
+        for(int i=1; i<=n+1; i++) viaStart[i] += viaStart[i-1];
+        int[] fill = viaStart.clone();
+        for(int s=1; s<=n; s++) {
+            if(shortcut[s] == 0) continue;
+            int dst = shortcut[s];
+            // Dari t (prima) dengan dadu > s-t, dan s adalah shortcut pertama setelah t
+            for(int t=Math.max(1, s-(maxDice-1)); t<s; t++) via[fill[dst]++] = prime[t] && before[s] - before[t+1] == 0 ? t : 0;
+        }
+
+        // Deque melingkar; tiap tile masuk paling banyak 2x (jarak hanya bisa turun dari d+1 ke d)
+        Deque01 q = new Deque01(n);
+        q.dist[n] = 0; q.push(n, false);
+        while(!q.isEmpty()) {
+            int u = q.pop();
+            boolean free = u != n && GameEngine.Rules.DEFAULT.isDoubleTurn(u);
+            int du = q.dist[u] + (free ? 0 : 1);
+            // Hijau tanpa shortcut: t -> u, tidak ada sumber shortcut di (t, u) jika t prima
+            for(int t=Math.max(1, u-maxDice); t<u; t++) {
+                if(!(prime[t] && before[u] - before[t+1] > 0)) q.relax(t, du, free);
+            }
+            // Merah: t -> max(1, t-val)
+            for(int t=u+1, hi=Math.min(n-1, u+maxDice); t<=hi; t++) q.relax(t, du, free);
+            // Shortcut ke u
+            for(int k=viaStart[u]; k<viaStart[u+1]; k++) {
+                int t = via[k];
+                if(t != 0) q.relax(t, du, free);
+            }
+        }
+        for(int i=1; i<=n; i++) if(q.dist[i] == Integer.MAX_VALUE) q.dist[i] = UNREACHABLE;
+        q.dist[0] = UNREACHABLE;
+        return q.dist;
+    }
+
+    // 0-1 BFS: edge bobot 0 masuk depan, bobot 1 masuk belakang
+    private static final class Deque01 {
+        final int[] dist, buf;
+        int head, size;
+
+        Deque01(int n) {
+            dist = new int[n + 1];
+            java.util.Arrays.fill(dist, Integer.MAX_VALUE);
+            buf = new int[2 * n + 2];
+        }
+
+        boolean isEmpty() { return size == 0; }
+
+        int pop() { int v = buf[head]; head = (head + 1) % buf.length; size--; return v; }
+
+        void push(int v, boolean front) {
+            if(front) { head = (head - 1 + buf.length) % buf.length; buf[head] = v; }
+            else buf[(head + size) % buf.length] = v;
+            size++;
+        }
+
+        void relax(int t, int d, boolean front) {
+            if(d < dist[t]) { dist[t] = d; push(t, front); }
+        }
+    }
+}
@@ -1,18 +1,31 @@
 import javax.swing.*;
+import javax.swing.border.Border;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import javax.swing.border.MatteBorder;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
 import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
 
 public class SnakeDijkstraGUI extends JFrame {
+    public static final int MAX_PLAYERS = 64; // occupancy tile = bitmask long
 
     // ==========================================
     // 1. CONFIG & THEME
@@ -42,81 +55,218 @@ public class SnakeDijkstraGUI extends JFrame {
     // ==========================================
     // 2. HIGH SCORE MANAGER
     // ==========================================
+    // Disimpan oleh ScoreStore (journal + snapshot). File .properties lama diimport sekali.
     public static class HighScoreManager {
-        private static final String FILE_NAME = "snake_highscores.properties";
-        private Properties scores = new Properties();
+        private static final String FILE_NAME = "snake_highscores";
+        private final ScoreStore store;
+        private final Leaderboard leaderboard;
 
         public HighScoreManager() {
-            loadScores();
-        }
-
-        private void loadScores() {
-            try (FileInputStream fis = new FileInputStream(FILE_NAME)) {
-                scores.load(fis);
+            ScoreStore s = null;
+            try {
+                s = new ScoreStore(FILE_NAME);
             } catch (IOException e) {
-                System.out.println("Creating new highscore file.");
+                System.out.println("High scores unavailable: " + e.getMessage());
             }
+            store = s;
+            leaderboard = s != null ? Leaderboard.attach(s) : new Leaderboard();
+        }
+
+        public List<Leaderboard.Entry> top(int n) { return leaderboard.top(n); }
+
+        public int rankOf(String name) {
+            String key = name.toLowerCase();
+            return store == null ? 0 : leaderboard.rankOf(key, store.get(key));
+        }
+
+        // Entri di sekitar rank pemain (kosong jika belum punya skor)
+        public List<Leaderboard.Entry> around(String name, int radius) {
+            int rank = rankOf(name);
+            return rank == 0 ? Collections.emptyList() : leaderboard.around(rank, radius);
         }
 
         public int getScore(String name) {
-            return Integer.parseInt(scores.getProperty(name.toLowerCase(), "0"));
+            return store == null ? 0 : store.get(name.toLowerCase());
         }
 
+        // Tidak memblok EDT: disk ditulis oleh writer thread ScoreStore
         public void saveScore(String name, int newScore) {
-            String key = name.toLowerCase();
-            int currentBest = getScore(key);
-            if (newScore > currentBest) {
-                scores.setProperty(key, String.valueOf(newScore));
-                try (FileOutputStream fos = new FileOutputStream(FILE_NAME)) {
-                    scores.store(fos, "Snake Game High Scores");
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
+            if (store != null) store.submit(name.toLowerCase(), newScore);
         }
     }
 
-    private static class Node {
-        int id, row, col, pointValue;
-        public Node(int id, int row, int col) {
-            this.id = id; this.row = row; this.col = col;
-            this.pointValue = (int)(Math.random() * 3) + 1;
+    // Font fallback dipakai sampai AssetLoader selesai parse TTF (loadCustomFont, di luar EDT).
+    // Komponen yang sudah dibuat dengan fallback diganti lewat swap().
+    public static class AppFonts {
+        public static final String[] FILES = {"Geist-Regular.ttf", "Geist-Bold.ttf", "GeistMono-Regular.ttf"};
+        private static final String[] TYPES = {"REGULAR", "BOLD", "MONO"};
+        private static final Font FALLBACK_TEXT = new Font("Segoe UI", Font.PLAIN, 14), FALLBACK_MONO = new Font("Consolas", Font.PLAIN, 12);
+        public static volatile Font REGULAR = FALLBACK_TEXT;
+        public static volatile Font BOLD    = FALLBACK_TEXT.deriveFont(Font.BOLD);
+        public static volatile Font MONO    = FALLBACK_MONO;
+
+        public static void loadCustomFont(String fName) throws IOException, FontFormatException {
+            String type = TYPES[Arrays.asList(FILES).indexOf(fName)];
+            File f = new File(fName);
+            if (!f.exists()) { System.out.println("Font not found: " + fName + " (fallback " + (type.equals("MONO") ? FALLBACK_MONO : FALLBACK_TEXT).getName() + ")"); return; }
+            Font font = Font.createFont(Font.TRUETYPE_FONT, f).deriveFont(type.equals("MONO")?12f:14f);
+            if (type.equals("BOLD")) font = font.deriveFont(Font.BOLD);
+            if (type.equals("REGULAR")) REGULAR = font; else if (type.equals("BOLD")) BOLD = font; else MONO = font;
+        }
+
+        // Ganti font fallback di tree komponen dengan font custom (ukuran & style tetap)
+        public static void swap(Component c) {
+            Font f = c.getFont();
+            if(f != null) {
+                Font base = f.getName().equals(FALLBACK_MONO.getName()) ? MONO : f.getName().equals(FALLBACK_TEXT.getName()) ? (f.isBold() ? BOLD : REGULAR) : null;
+                if(base != null && !base.getName().equals(f.getName())) c.setFont(base.deriveFont(f.getStyle(), f.getSize2D()));
+            }
+            if(c instanceof Container) for(Component k : ((Container) c).getComponents()) swap(k);
         }
     }
 
-    public static class AppFonts {
-        public static Font REGULAR = new Font("Segoe UI", Font.PLAIN, 14);
-        public static Font BOLD    = new Font("Segoe UI", Font.BOLD, 14);
-        public static Font MONO    = new Font("Consolas", Font.PLAIN, 12);
-        static {
-            loadCustomFont("Geist-Regular.ttf", "REGULAR");
-            loadCustomFont("Geist-Bold.ttf", "BOLD");
-            loadCustomFont("GeistMono-Regular.ttf", "MONO");
+    // Semua cue di-decode sekali ke PCM lalu diputar dari pool Clip yang dipakai ulang.
+    // Semua kerja audio jalan di satu worker thread, EDT tidak pernah menunggu.
+    public static class SoundManager {
+        public static final String[] CUES = {"step.wav", "spin.wav", "smb_jump-super.wav", "hidup-jokowi.wav", "dice.wav", "magic.wav"};
+        private static final int VOICES_PER_CUE = 3, MAX_VOICES = 8;
+        private static final Voices NONE = new Voices(new Clip[0]);
+        // Hanya diakses dari worker thread
+        private static final Map<String, Voices> pools = new HashMap<>();
+        private static volatile int activeVoices;
+        private static final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "SoundManager"); t.setDaemon(true); return t;
+        });
+
+        // Pool Clip satu cue + cursor round-robin
+        private static final class Voices {
+            final Clip[] clips; int next;
+            Voices(Clip[] clips) { this.clips = clips; }
         }
-        private static void loadCustomFont(String fName, String type) {
-            try {
-                File f = new File(fName);
-                if (f.exists()) {
-                    Font font = Font.createFont(Font.TRUETYPE_FONT, f).deriveFont(type.equals("MONO")?12f:14f);
-                    if (type.equals("BOLD")) font = font.deriveFont(Font.BOLD);
-                    if (type.equals("REGULAR")) REGULAR = font; else if (type.equals("BOLD")) BOLD = font; else MONO = font;
+
+        // Decode di thread caller (AssetLoader), pool Clip dipasang di worker thread. Blocking.
+        public static void load(String fName) throws Exception {
+            Pcm pcm = decode(fName);
+            worker.submit(() -> install(fName, pcm)).get();
+        }
+        public static void play(String fName) { worker.execute(() -> playNow(fName)); }
+        public static int getActiveVoices() { return activeVoices; }
+
+        private static void playNow(String fName) {
+            Voices v = voices(fName);
+            Clip[] pool = v.clips;
+            if(pool.length == 0) return;
+            int active = 0;
+            for(Voices p : pools.values()) for(Clip c : p.clips) if(c.isRunning()) active++;
+            activeVoices = active;
+            int i = v.next;
+            Clip clip = pool[i];
+            for(int k=0; k<pool.length; k++) if(!pool[(i+k)%pool.length].isRunning()) { clip = pool[(i+k)%pool.length]; i = (i+k)%pool.length; break; }
+            if(!clip.isRunning() && active >= MAX_VOICES) return; // Voice penuh: drop cue
+            v.next = (i+1) % pool.length;
+            clip.stop(); clip.setFramePosition(0); clip.start();
+        }
+
+        // data == null -> gagal, error berisi alasannya
+        private static class Pcm {
+            final AudioFormat fmt; final byte[] data; final String error;
+            Pcm(AudioFormat fmt, byte[] data) { this.fmt = fmt; this.data = data; this.error = null; }
+            Pcm(String error) { this.fmt = null; this.data = null; this.error = error; }
+        }
+
+        // Cue yang belum di-load AssetLoader: decode langsung di worker
+        private static Voices voices(String fName) {
+            Voices v = pools.get(fName);
+            return v != null ? v : install(fName, decode(fName));
+        }
+
+        // Baca file (thread mana saja). Tidak print: hasil gagal dilaporkan install, sekali per cue.
+        private static Pcm decode(String fName) {
+            File f = new File(fName);
+            if(!f.exists()) return new Pcm("Sound not found: " + fName);
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(f)) {
+                return new Pcm(in.getFormat(), in.readAllBytes());
+            } catch (Exception e) {
+                return new Pcm("Sound unavailable: " + fName + " (" + e + ")");
+            }
+        }
+
+        // Hanya di worker thread; hasil (termasuk gagal) diingat, cue yang sudah terpasang diabaikan
+        private static Voices install(String fName, Pcm pcm) {
+            Voices v = pools.get(fName);
+            if(v != null) return v;
+            v = NONE;
+            if(pcm.data == null) System.out.println(pcm.error);
+            else {
+                Clip[] clips = new Clip[VOICES_PER_CUE];
+                try {
+                    for(int i=0; i<clips.length; i++) { clips[i] = AudioSystem.getClip(); clips[i].open(pcm.fmt, pcm.data, 0, pcm.data.length); }
+                    v = new Voices(clips);
+                } catch (Exception e) {
+                    System.out.println("Sound unavailable: " + fName + " (" + e + ")");
+                    for(Clip c : clips) if(c != null) c.close();
                 }
-            } catch (Exception e) {}
+            }
+            pools.put(fName, v);
+            return v;
         }
     }
 
-    public static class SoundManager {
-        public static void play(String fName) {
-            new Thread(() -> {
-                try {
-                    File f = new File(fName);
-                    if (f.exists()) {
-                        javax.sound.sampled.Clip clip = javax.sound.sampled.AudioSystem.getClip();
-                        clip.open(javax.sound.sampled.AudioSystem.getAudioInputStream(f));
-                        clip.start();
-                    }
-                } catch (Exception e) {}
-            }).start();
+    // Game log: ring buffer berkapasitas tetap untuk JList (hanya baris yang tampil dirender).
+    // Baris yang tergeser / di-clear ditulis ke file oleh satu daemon thread.
+    public static class GameLog extends AbstractListModel<String> {
+        public static final int CAPACITY = 500;
+        private static final String FILE_NAME = "snake_game.log";
+        private static final ExecutorService spill = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "GameLog-spill"); t.setDaemon(true); return t;
+        });
+        private static final java.util.concurrent.atomic.AtomicInteger pending = new java.util.concurrent.atomic.AtomicInteger();
+        private static Writer out; // hanya diakses dari spill thread
+        private static boolean failed;
+
+        private final String[] ring = new String[CAPACITY];
+        private int head, size;
+
+        @Override public int getSize() { return size; }
+        @Override public String getElementAt(int i) { return ring[(head + i) % CAPACITY]; }
+
+        public void add(String line) {
+            if(size == CAPACITY) {
+                spill(ring[head]);
+                ring[head] = line; head = (head + 1) % CAPACITY;
+                fireIntervalRemoved(this, 0, 0);
+            } else {
+                ring[(head + size++) % CAPACITY] = line;
+            }
+            fireIntervalAdded(this, size - 1, size - 1);
+        }
+
+        public void clear() {
+            if(size == 0) return;
+            for(int i=0; i<size; i++) { spill(getElementAt(i)); ring[(head + i) % CAPACITY] = null; }
+            int n = size; head = 0; size = 0;
+            fireIntervalRemoved(this, 0, n - 1);
+        }
+
+        private static void spill(String line) {
+            pending.incrementAndGet();
+            spill.execute(() -> write(line));
+        }
+
+        // Flush hanya saat antrian habis -> burst baris ditulis sekali
+        private static void write(String line) {
+            try {
+                if(!failed) {
+                    if(out == null) out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FILE_NAME, true), java.nio.charset.StandardCharsets.UTF_8));
+                    out.write(line); out.write(System.lineSeparator());
+                    if(pending.get() == 1) out.flush();
+                }
+            } catch (IOException e) {
+                failed = true; // dilaporkan sekali, log di layar tetap jalan
+                System.out.println("Game log spill disabled: " + e.getMessage());
+            } finally {
+                pending.decrementAndGet();
+            }
         }
     }
 
@@ -124,87 +274,344 @@ public class SnakeDijkstraGUI extends JFrame {
     // 3. VISUAL COMPONENTS
     // ==========================================
 
+    // Timer hanya jalan selama panel tampil (CardLayout ke GAME -> berhenti).
+    // Gradient + glow di-cache sebagai image, bintang disimpan di array primitif.
     private static class AnimatedBackgroundPanel extends JPanel {
-        private final List<Point> stars = new ArrayList<>();
+        private static final int STARS = 50;
+        private static final Color STAR = new Color(255,255,255, 100), GLOW = new Color(255, 255, 255, 10);
+        private final int[] starX = new int[STARS], starY = new int[STARS];
         private final Random rand = new Random();
+        private final javax.swing.Timer timer = new javax.swing.Timer(100, e -> tick());
+        private BufferedImage background;
+        private int starW, starH;
 
         public AnimatedBackgroundPanel() {
-            for(int i=0; i<50; i++) stars.add(new Point(rand.nextInt(1200), rand.nextInt(900)));
-            new javax.swing.Timer(100, e -> repaint()).start();
+            addHierarchyListener(e -> {
+                if((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+                if(isShowing()) timer.start(); else timer.stop();
+            });
+        }
+
+        private void tick() {
+            int h = getHeight();
+            for(int i=0; i<STARS; i++) { starY[i] -= 1; if(starY[i] < 0) starY[i] = h; }
+            repaint();
+        }
+
+        // Sebar ulang bintang sesuai ukuran window (skala dari ukuran lama)
+        private void layoutStars(int w, int h) {
+            for(int i=0; i<STARS; i++) {
+                if(starW == 0) { starX[i] = rand.nextInt(w); starY[i] = rand.nextInt(h); }
+                else { starX[i] = (int) ((long) starX[i] * w / starW); starY[i] = (int) ((long) starY[i] * h / starH); }
+            }
+            starW = w; starH = h;
+        }
+
+        private BufferedImage background(int w, int h) {
+            if(background != null && background.getWidth() == w && background.getHeight() == h) return background;
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            background = gc != null ? gc.createCompatibleImage(w, h) : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = background.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setPaint(new GradientPaint(0, 0, Color.decode("#0f2027"), w, h, Color.decode("#2c5364"))); g2.fillRect(0, 0, w, h);
+            g2.setColor(GLOW);
+            g2.fillOval(-50, -50, 300, 300); g2.fillOval(w-200, h-200, 400, 400);
+            g2.dispose();
+            return background;
         }
 
         @Override
         protected void paintComponent(Graphics g) {
+            long t0 = System.nanoTime();
             super.paintComponent(g);
+            int w = getWidth(), h = getHeight();
+            if(w <= 0 || h <= 0) return;
+            if(w != starW || h != starH) layoutStars(w, h);
+            g.drawImage(background(w, h), 0, 0, null);
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            GradientPaint gp = new GradientPaint(0, 0, Color.decode("#0f2027"), getWidth(), getHeight(), Color.decode("#2c5364"));
-            g2.setPaint(gp); g2.fillRect(0, 0, getWidth(), getHeight());
-            g2.setColor(new Color(255, 255, 255, 10));
-            g2.fillOval(-50, -50, 300, 300); g2.fillOval(getWidth()-200, getHeight()-200, 400, 400);
-            g2.setColor(new Color(255,255,255, 100));
-            for(Point p : stars) {
-                g2.fillOval(p.x, p.y, 3, 3);
-                p.y -= 1; if(p.y < 0) p.y = getHeight();
-            }
+            g2.setColor(STAR);
+            for(int i=0; i<STARS; i++) g2.fillOval(starX[i], starY[i], 3, 3);
+            GameMetrics.get().record("paint.background", System.nanoTime() - t0);
         }
     }
 
     private static class GradientPanel extends JPanel {
         private final Color centerColor, edgeColor;
-        private List<Integer> playersHere = new ArrayList<>();
+        private long players; // bit pid-1
         private int pointValue;
 
         public GradientPanel(Color c, Color e, int p) {
             this.centerColor = c; this.edgeColor = e; this.pointValue = p;
             setOpaque(false);
         }
-        public void setPlayersHere(List<Integer> p) { playersHere.clear(); playersHere.addAll(p); repaint(); }
-        public void addPlayer(int p) { if(!playersHere.contains(p)) { playersHere.add(p); repaint(); } }
-        public void removePlayer(int p) { playersHere.remove(Integer.valueOf(p)); repaint(); }
+        public void setPlayers(long mask) { if(players != mask) { players = mask; repaint(); } }
 
-        public static Color getPlayerColor(int id) {
-            switch (id) {
-                case 1: return Color.decode("#FF5252"); case 2: return Color.decode("#448AFF");
-                case 3: return Color.decode("#69F0AE"); case 4: return Color.decode("#FFAB40");
-                default: return Color.GRAY;
-            }
+        // P1-P4 warna klasik, sisanya hue golden-angle supaya pemain berurutan tetap kontras
+        private static final Color[] PLAYER_COLORS = new Color[MAX_PLAYERS + 1];
+        static {
+            PLAYER_COLORS[1] = Color.decode("#FF5252"); PLAYER_COLORS[2] = Color.decode("#448AFF");
+            PLAYER_COLORS[3] = Color.decode("#69F0AE"); PLAYER_COLORS[4] = Color.decode("#FFAB40");
+            for(int id=5; id<=MAX_PLAYERS; id++) PLAYER_COLORS[id] = Color.getHSBColor((float) ((id * 0.618033988749895) % 1.0), 0.65f, 0.95f);
         }
 
-        public static void drawPawnStatic(Graphics2D g2, int x, int y, int size, Color color, String label) {
-            g2.setColor(new Color(0,0,0,60)); g2.fillOval(x+2, y+2, size, size);
+        public static Color getPlayerColor(int id) { return id >= 1 && id <= MAX_PLAYERS ? PLAYER_COLORS[id] : Color.GRAY; }
+
+        private static final Color PAWN_SHADOW = new Color(0,0,0,60), PAWN_RIM = new Color(255,255,255,150);
+        private static final Color COIN = new Color(255, 215, 0), COIN_RIM = new Color(184, 134, 11), BADGE = new Color(30, 30, 46, 220);
+        private static final BasicStroke STROKE_1 = new BasicStroke(1f), STROKE_2 = new BasicStroke(2f);
+
+        public static void drawPawnStatic(Graphics2D g2, int x, int y, int size, Color color, int pid) {
+            g2.setColor(PAWN_SHADOW); g2.fillOval(x+2, y+2, size, size);
             g2.setColor(color); g2.fillOval(x, y, size, size);
-            g2.setColor(new Color(255,255,255,150)); g2.setStroke(new BasicStroke(2f)); g2.drawOval(x, y, size, size);
-            g2.setFont(AppFonts.BOLD.deriveFont(10f)); g2.setColor(Color.WHITE);
-            FontMetrics fm = g2.getFontMetrics();
-            g2.drawString(label, x+(size-fm.stringWidth(label))/2, y+(size-fm.getHeight())/2+fm.getAscent());
+            g2.setColor(PAWN_RIM); g2.setStroke(STROKE_2); g2.drawOval(x, y, size, size);
+            TextCache.Face f = TextCache.face(g2, AppFonts.BOLD, 10f);
+            g2.setColor(Color.WHITE);
+            g2.drawGlyphVector(f.pawn(pid), x+(size-f.pawnWidth(pid))/2, y+(size-f.height)/2+f.ascent);
         }
 
         @Override
         protected void paintComponent(Graphics g) {
+            long t0 = System.nanoTime();
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             int w = getWidth(), h = getHeight();
+            paintTile(g2, w, h, centerColor, edgeColor, pointValue);
+            paintPawns(g2, 0, 0, w, h, players);
+            GameMetrics.get().record("paint.tile", System.nanoTime() - t0);
+        }
 
+        // Background gradient + koin poin (dipakai juga untuk cache bitmap BoardCanvas)
+        static void paintTile(Graphics2D g2, int w, int h, Color centerColor, Color edgeColor, int pointValue) {
             RadialGradientPaint p = new RadialGradientPaint(new Point2D.Float(w/2f, h/2f), Math.max(w,h),
                     new float[]{0.0f, 1.0f}, new Color[]{centerColor, edgeColor});
             g2.setPaint(p); g2.fillRect(0, 0, w, h);
 
             int ptS = 20, ptX = 4, ptY = h - 24;
-            g2.setColor(new Color(255, 215, 0)); g2.fillOval(ptX, ptY, ptS, ptS);
-            g2.setColor(new Color(184, 134, 11)); g2.setStroke(new BasicStroke(1f)); g2.drawOval(ptX, ptY, ptS, ptS);
-            g2.setColor(Color.BLACK); g2.setFont(AppFonts.BOLD.deriveFont(10f));
-            String pts = String.valueOf(pointValue);
-            FontMetrics fm = g2.getFontMetrics();
-            g2.drawString(pts, ptX+(ptS-fm.stringWidth(pts))/2, ptY+(ptS-fm.getHeight())/2+fm.getAscent()-2);
+            g2.setColor(COIN); g2.fillOval(ptX, ptY, ptS, ptS);
+            g2.setColor(COIN_RIM); g2.setStroke(STROKE_1); g2.drawOval(ptX, ptY, ptS, ptS);
+            TextCache.Face f = TextCache.face(g2, AppFonts.BOLD, 10f);
+            g2.setColor(Color.BLACK);
+            g2.drawGlyphVector(f.number(pointValue), ptX+(ptS-f.numberWidth(pointValue))/2, ptY+(ptS-f.height)/2+f.ascent-2);
+        }
 
-            int size = w / 3; int margin = 6;
-            int[][] pos = {{margin, margin + 8}, {w - size - margin, margin + 8}, {margin, h - size - margin}, {w - size - margin, h - size - margin}};
+        static void paintPawns(Graphics2D g2, int x, int y, int w, int h, long players) {
+            int size = w / 3; int margin = 6, n = Long.bitCount(players);
+            if(n > 4) { drawBadge(g2, x, y, w, h, size, players, n); return; }
+            // Pojok: 0 kiri atas, 1 kanan atas, 2 kiri bawah, 3 kanan bawah. P1-P4 selalu di pojoknya sendiri,
+            // jika ada pid > 4 pojok diisi berurutan.
+            boolean fixed = (players & ~0xFL) == 0;
+            int slot = 0;
+            for(long m = players; m != 0; m &= m - 1) {
+                int k = Long.numberOfTrailingZeros(m), c = fixed ? k : slot++;
+                int px = (c & 1) == 0 ? margin : w - size - margin, py = (c & 2) == 0 ? margin + 8 : h - size - margin;
+                drawPawnStatic(g2, x+px, y+py, size, getPlayerColor(k+1), k+1);
+            }
+        }
 
-            for(int pid : playersHere) {
-                if(pid <= 4) drawPawnStatic(g2, pos[pid-1][0], pos[pid-1][1], size, getPlayerColor(pid), "P"+pid);
+        // Tile ramai (> 4 pawn): satu badge dengan jumlah pawn, rim warna pid terkecil
+        private static void drawBadge(Graphics2D g2, int x, int y, int w, int h, int size, long players, int n) {
+            int d = Math.min(w, h) / 2, bx = x + (w - d) / 2, by = y + (h - d) / 2 + 4;
+            g2.setColor(PAWN_SHADOW); g2.fillOval(bx+2, by+2, d, d);
+            g2.setColor(BADGE); g2.fillOval(bx, by, d, d);
+            g2.setColor(getPlayerColor(Long.numberOfTrailingZeros(players) + 1)); g2.setStroke(STROKE_2); g2.drawOval(bx, by, d, d);
+            TextCache.Face f = TextCache.face(g2, AppFonts.BOLD, 12f);
+            g2.setColor(Color.WHITE);
+            g2.drawGlyphVector(f.number(n), bx+(d-f.numberWidth(n))/2, by+(d-f.height)/2+f.ascent);
+        }
+    }
+
+    // Sprite atlas semua muka dadu x warna border, dibuat sekali. Di layar HiDPI
+    // icon memakai varian resolusi tinggi, jadi tetap tajam. get() tidak membuat objek baru.
+    private static class DiceAtlas {
+        private static final Color[] BORDERS = {Color.BLACK, Color.LIGHT_GRAY, UITheme.BUTTON_GREEN, UITheme.BUTTON_RED};
+        private final ImageIcon[] icons = new ImageIcon[BORDERS.length * 6]; // [border*6 + v-1]
+        private final int size;
+
+        public DiceAtlas(int size, double scale) {
+            this.size = size;
+            int px = (int) Math.ceil(size * scale);
+            BufferedImage base = new BufferedImage(size * 6, size * BORDERS.length, BufferedImage.TYPE_INT_ARGB);
+            BufferedImage hi = scale > 1 ? new BufferedImage(px * 6, px * BORDERS.length, BufferedImage.TYPE_INT_ARGB) : null;
+            Graphics2D gb = base.createGraphics(), gh = hi != null ? hi.createGraphics() : null;
+            for(int b=0; b<BORDERS.length; b++) {
+                for(int v=1; v<=6; v++) {
+                    Graphics2D g = (Graphics2D) gb.create((v-1)*size, b*size, size, size);
+                    paintDice(g, v, size, BORDERS[b]); g.dispose();
+                    Image img = base.getSubimage((v-1)*size, b*size, size, size);
+                    if(gh != null) {
+                        g = (Graphics2D) gh.create((v-1)*px, b*px, px, px);
+                        g.scale(scale, scale); paintDice(g, v, size, BORDERS[b]); g.dispose();
+                        img = new java.awt.image.BaseMultiResolutionImage(img, hi.getSubimage((v-1)*px, b*px, px, px));
+                    }
+                    icons[b*6 + v-1] = new ImageIcon(img);
+                }
             }
+            gb.dispose(); if(gh != null) gh.dispose();
+        }
+
+        public ImageIcon get(int v, Color border) {
+            for(int b=0; b<BORDERS.length; b++) if(BORDERS[b].equals(border)) return icons[b*6 + v-1];
+            return createDiceImage(v, size, border); // Warna di luar atlas
+        }
+
+        // Skala layar utama (1.0 jika headless)
+        public static double screenScale() {
+            if(GraphicsEnvironment.isHeadless()) return 1.0;
+            return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDefaultConfiguration().getDefaultTransform().getScaleX();
+        }
+    }
+
+    // Cache teks: font turunan per (font, size, style) dan GlyphVector siap gambar untuk angka
+    // (id tile, poin) & label pawn "P<n>", per FontRenderContext. Paint board / pawn tidak
+    // derive font atau ukur string lagi. Hanya diakses dari EDT (dan thread AssetLoader untuk font()).
+    static final class TextCache {
+        private static final List<Font> fonts = new ArrayList<>();
+        private static final List<Face> faces = new ArrayList<>();
+
+        public static synchronized Font font(Font base, float size) { return font(base, size, base.getStyle()); }
+
+        public static synchronized Font font(Font base, float size, int style) {
+            for(int i=0, n=fonts.size(); i<n; i+=2) {
+                Font b = fonts.get(i), d = fonts.get(i+1);
+                if(b == base && d.getSize2D() == size && d.getStyle() == style) return d;
+            }
+            Font d = base.deriveFont(style, size);
+            fonts.add(base); fonts.add(d);
+            return d;
+        }
+
+        // Face untuk g2 sekarang (frc ikut antialias & skala layar)
+        public static Face face(Graphics2D g2, Font base, float size) {
+            FontRenderContext frc = g2.getFontRenderContext();
+            for(int i=0, n=faces.size(); i<n; i++) {
+                Face f = faces.get(i);
+                if(f.base == base && f.size == size && f.frc.equals(frc)) return f;
+            }
+            Face f = new Face(base, size, frc); faces.add(f);
+            return f;
+        }
+
+        static final class Face {
+            final Font base, font; final float size; final FontRenderContext frc;
+            final float ascent, height;
+            private GlyphVector[] numbers = new GlyphVector[16], pawns = new GlyphVector[8];
+            private float[] numberW = new float[16], pawnW = new float[8];
+
+            Face(Font base, float size, FontRenderContext frc) {
+                this.base = base; this.size = size; this.frc = frc;
+                font = font(base, size);
+                java.awt.font.LineMetrics lm = font.getLineMetrics("P0", frc);
+                ascent = lm.getAscent(); height = lm.getAscent() + lm.getDescent() + lm.getLeading();
+            }
+
+            public GlyphVector number(int n) { ensureNumber(n); return numbers[n]; }
+            public float numberWidth(int n) { ensureNumber(n); return numberW[n]; }
+            public GlyphVector pawn(int pid) { ensurePawn(pid); return pawns[pid]; }
+            public float pawnWidth(int pid) { ensurePawn(pid); return pawnW[pid]; }
+
+            private void ensureNumber(int n) {
+                if(n >= numbers.length) { int c = Math.max(n + 1, numbers.length * 2); numbers = Arrays.copyOf(numbers, c); numberW = Arrays.copyOf(numberW, c); }
+                if(numbers[n] == null) { numbers[n] = font.createGlyphVector(frc, String.valueOf(n)); numberW[n] = (float) numbers[n].getLogicalBounds().getWidth(); }
+            }
+
+            private void ensurePawn(int pid) {
+                if(pid >= pawns.length) { int c = Math.max(pid + 1, pawns.length * 2); pawns = Arrays.copyOf(pawns, c); pawnW = Arrays.copyOf(pawnW, c); }
+                if(pawns[pid] == null) { pawns[pid] = font.createGlyphVector(frc, "P" + pid); pawnW[pid] = (float) pawns[pid].getLogicalBounds().getWidth(); }
+            }
+        }
+    }
+
+    // Satu frame clock untuk semua animasi. Step diantrikan berurutan (then), tween
+    // tambahan bisa digabung ke step terakhir (with). Progress dihitung dari waktu nyata,
+    // jadi frame yang telat tidak memperlambat animasi; frame drop dicatat & dilaporkan.
+    public static class Timeline {
+        public interface Tween { void update(float t); }
+        public static final int FRAME_MS = 16;
+        private static final float FAST_FORWARD = 4f;
+
+        private static class Step {
+            final int ms; final List<Runnable> starts = new ArrayList<>(2), ends = new ArrayList<>(2);
+            final List<Tween> tweens = new ArrayList<>(2);
+            boolean started; long startNs;
+            Step(int ms) { this.ms = ms; }
+        }
+
+        private final ArrayDeque<Step> queue = new ArrayDeque<>();
+        private final javax.swing.Timer clock = new javax.swing.Timer(FRAME_MS, e -> tick());
+        private boolean running, fastForward;
+        private long lastFrameNs, worstGapNs;
+        private int frames, dropped, totalDropped;
+
+        public Timeline() { clock.setCoalesce(true); }
+
+        public Timeline then(int ms, Runnable onStart, Tween tween, Runnable onEnd) {
+            queue.addLast(new Step(ms)); return with(onStart, tween, onEnd);
+        }
+        // Gabung ke step terakhir (jalan paralel, durasi sama)
+        public Timeline with(Runnable onStart, Tween tween, Runnable onEnd) {
+            Step st = queue.peekLast();
+            if(onStart != null) st.starts.add(onStart);
+            if(tween != null) st.tweens.add(tween);
+            if(onEnd != null) st.ends.add(onEnd);
+            start(); return this;
+        }
+        public Timeline delay(int ms) { return then(ms, null, null, null); }
+        public Timeline call(Runnable r) { return then(0, null, null, r); }
+
+        public boolean isIdle() { return queue.isEmpty(); }
+        public boolean isFastForward() { return fastForward; }
+        public void setFastForward(boolean on) { fastForward = on; }
+        public int getTotalDroppedFrames() { return totalDropped; }
+
+        // Selesaikan semua step (termasuk yang ditambah callback) sekarang juga
+        public void skip() {
+            if(running) return;
+            running = true;
+            try { while(!queue.isEmpty()) finish(queue.pollFirst()); }
+            finally { running = false; idle(); }
+        }
+
+        private void start() {
+            if(clock.isRunning()) return;
+            lastFrameNs = System.nanoTime(); frames = 0; dropped = 0; worstGapNs = 0;
+            clock.start();
+        }
+
+        private void tick() {
+            if(running) return; // Dialog modal di callback memompa event; jangan reentrant
+            running = true;
+            try {
+                long now = System.nanoTime(), gap = now - lastFrameNs;
+                frames++;
+                int lost = gap > 2L * FRAME_MS * 1_000_000 ? (int) (gap / (FRAME_MS * 1_000_000L)) - 1 : 0;
+                if(lost > 0) { dropped += lost; worstGapNs = Math.max(worstGapNs, gap); }
+                GameMetrics.get().frame(gap, lost);
+                while(!queue.isEmpty()) {
+                    Step st = queue.peekFirst();
+                    if(!st.started) { begin(st); now = System.nanoTime(); }
+                    float dur = fastForward ? st.ms / FAST_FORWARD : st.ms;
+                    float t = dur <= 0 ? 1f : Math.min(1f, (now - st.startNs) / (dur * 1_000_000f));
+                    if(t < 1f) { update(st, t); break; }
+                    queue.pollFirst(); finish(st);
+                    now = System.nanoTime();
+                }
+                lastFrameNs = System.nanoTime(); // Waktu di callback (dialog) bukan frame drop
+            } finally { running = false; }
+            if(queue.isEmpty()) idle();
+        }
+
+        private void begin(Step st) { st.started = true; for(Runnable r : st.starts) r.run(); st.startNs = System.nanoTime(); }
+        private void update(Step st, float t) { float e = t*t*(3-2*t); for(Tween tw : st.tweens) tw.update(e); }
+        private void finish(Step st) { if(!st.started) begin(st); update(st, 1f); for(Runnable r : st.ends) r.run(); }
+
+        private void idle() {
+            if(!queue.isEmpty()) return;
+            clock.stop();
+            if(dropped > 0) System.out.printf("Timeline: %d dropped frame(s) in %d, worst gap %d ms%n", dropped, frames, worstGapNs / 1_000_000);
+            totalDropped += dropped; dropped = 0;
         }
     }
 
@@ -214,25 +621,103 @@ public class SnakeDijkstraGUI extends JFrame {
         public void updatePawn(int id, int x, int y) { anim = true; pid = id; ax = x; ay = y; repaint(); }
         public void stop() { anim = false; repaint(); }
         @Override protected void paintComponent(Graphics g) {
+            long t0 = System.nanoTime();
             super.paintComponent(g);
             if(anim) {
                 Graphics2D g2 = (Graphics2D)g;
                 g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                int boxW = getWidth()/8; int sz = boxW / 3;
-                GradientPanel.drawPawnStatic(g2, ax-sz/2, ay-sz/2, sz, GradientPanel.getPlayerColor(pid), "P"+pid);
+                int boxW = getWidth()/board.size; int sz = boxW / 3;
+                GradientPanel.drawPawnStatic(g2, ax-sz/2, ay-sz/2, sz, GradientPanel.getPlayerColor(pid), pid);
             }
+            GameMetrics.get().record("paint.animation", System.nanoTime() - t0);
+        }
+    }
+
+    // Overlay metrik (F3 / -Dsnake.overlay=true): ringkasan GameMetrics, refresh 2x per detik.
+    // Teks + ukuran kotak dihitung di timer; paintComponent (ikut tiap frame animasi) hanya menggambar.
+    // Tidak punya mouse listener -> klik tetap sampai ke board.
+    private static class MetricsOverlay extends JComponent {
+        private static final Color BG = new Color(0, 0, 0, 170), FG = new Color(166, 227, 161);
+        private static final int X = 8, Y = 8;
+        private final javax.swing.Timer refresh = new javax.swing.Timer(500, e -> update());
+        private final Font font = TextCache.font(AppFonts.MONO, 11f);
+        private String[] lines = new String[0];
+        private int boxW, boxH, lineH, ascent;
+
+        public MetricsOverlay() {
+            setOpaque(false);
+            setVisible(Boolean.getBoolean("snake.overlay") && GameMetrics.get().isEnabled());
+            addHierarchyListener(e -> {
+                if((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+                if(isShowing()) { update(); refresh.start(); } else refresh.stop();
+            });
+        }
+
+        public void toggle() { setVisible(!isVisible() && GameMetrics.get().isEnabled()); }
+
+        private void update() {
+            int oldW = boxW, oldH = boxH;
+            lines = GameMetrics.get().summary().split("\n");
+            FontMetrics fm = getFontMetrics(font);
+            int w = 0;
+            for(String l : lines) w = Math.max(w, fm.stringWidth(l));
+            lineH = fm.getHeight(); ascent = fm.getAscent();
+            boxW = w + 16; boxH = lines.length * lineH + 12;
+            repaint(X, Y, Math.max(oldW, boxW) + 1, Math.max(oldH, boxH) + 1);
+        }
+
+        @Override protected void paintComponent(Graphics g) {
+            if(lines.length == 0) return;
+            g.setFont(font);
+            g.setColor(BG); g.fillRoundRect(X, Y, boxW, boxH, 10, 10);
+            g.setColor(FG);
+            for(int i=0; i<lines.length; i++) g.drawString(lines[i], X + 8, Y + 6 + i * lineH + ascent);
+        }
+    }
+
+    // Layer ladder dirender sekali ke image seukuran komponen, di-rebuild hanya jika
+    // layout shortcut (BoardModel.getLayoutVersion) atau ukuran komponen berubah.
+    private static class LadderLayer {
+        private BufferedImage image;
+        private int version = -1;
+
+        public void invalidate() { version = -1; }
+
+        public void paint(Graphics g, JComponent c, int layoutVersion, Consumer<Graphics2D> drawLadders) {
+            int w = c.getWidth(), h = c.getHeight();
+            if(w <= 0 || h <= 0) return;
+            boolean resized = image == null || image.getWidth() != w || image.getHeight() != h;
+            if(resized) {
+                GraphicsConfiguration gc = c.getGraphicsConfiguration();
+                image = gc != null ? gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT) : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            }
+            if(resized || version != layoutVersion) {
+                Graphics2D ig = image.createGraphics();
+                ig.setComposite(AlphaComposite.Clear); ig.fillRect(0, 0, w, h); ig.setComposite(AlphaComposite.SrcOver);
+                ig.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                drawLadders.accept(ig); ig.dispose();
+                version = layoutVersion;
+            }
+            g.drawImage(image, 0, 0, null);
         }
     }
 
     private class BoardDrawingPanel extends JPanel {
+        private final LadderLayer ladders = new LadderLayer();
+        private final Consumer<Graphics2D> drawLadders = this::drawLadders;
         public BoardDrawingPanel(GridLayout l) { super(l); }
+        @Override public void doLayout() { super.doLayout(); ladders.invalidate(); }
         @Override public void paint(Graphics g) {
+            long t0 = System.nanoTime();
             super.paint(g);
-            Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            for(Map.Entry<Integer, Integer> e : shortcuts.entrySet()) {
-                GradientPanel s = panelMap.get(e.getKey());
-                GradientPanel d = panelMap.get(e.getValue());
+            ladders.paint(g, this, board.getLayoutVersion(), drawLadders);
+            GameMetrics.get().record("paint.board", System.nanoTime() - t0);
+        }
+        private void drawLadders(Graphics2D g2) {
+            for(int i=0; i<board.getShortcutCount(); i++) {
+                int src = board.getShortcutSource(i);
+                GradientPanel s = panelMap.get(src);
+                GradientPanel d = panelMap.get(board.getShortcut(src));
                 if(s!=null && d!=null) {
                     Point p1 = SwingUtilities.convertPoint(s, s.getWidth()/2, s.getHeight()/2, this);
                     Point p2 = SwingUtilities.convertPoint(d, d.getWidth()/2, d.getHeight()/2, this);
@@ -240,124 +725,310 @@ public class SnakeDijkstraGUI extends JFrame {
                 }
             }
         }
-        private void drawLadder(Graphics2D g2, Point p1, Point p2) {
-            double dx = p2.x-p1.x, dy = p2.y-p1.y, dist = Math.sqrt(dx*dx+dy*dy);
-            if(dist<20) return;
-            double ux = dx/dist, uy = dy/dist, px = -uy*12, py = ux*12;
-            g2.setStroke(new BasicStroke(5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            g2.setColor(new Color(0,0,0,80));
-            g2.drawLine((int)(p1.x+px+2), (int)(p1.y+py+2), (int)(p2.x+px+2), (int)(p2.y+py+2));
-            g2.drawLine((int)(p1.x-px+2), (int)(p1.y-py+2), (int)(p2.x-px+2), (int)(p2.y-py+2));
-            g2.setColor(new Color(101,67,33));
-            g2.drawLine((int)(p1.x+px), (int)(p1.y+py), (int)(p2.x+px), (int)(p2.y+py));
-            g2.drawLine((int)(p1.x-px), (int)(p1.y-py), (int)(p2.x-px), (int)(p2.y-py));
-            g2.setStroke(new BasicStroke(4f));
-            for(double t=25; t<dist-10; t+=25) {
-                double cx = p1.x+ux*t, cy = p1.y+uy*t;
-                g2.setColor(new Color(0,0,0,80)); g2.drawLine((int)(cx+px+1), (int)(cy+py+2), (int)(cx-px+1), (int)(cy-py+2));
-                g2.setColor(new Color(160,112,66)); g2.drawLine((int)(cx+px), (int)(cy+py), (int)(cx-px), (int)(cy-py));
+    }
+
+    // Static supaya bisa di-benchmark tanpa JFrame
+    private static void drawLadder(Graphics2D g2, Point p1, Point p2) {
+        double dx = p2.x-p1.x, dy = p2.y-p1.y, dist = Math.sqrt(dx*dx+dy*dy);
+        if(dist<20) return;
+        double ux = dx/dist, uy = dy/dist, px = -uy*12, py = ux*12;
+        g2.setStroke(new BasicStroke(5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g2.setColor(new Color(0,0,0,80));
+        g2.drawLine((int)(p1.x+px+2), (int)(p1.y+py+2), (int)(p2.x+px+2), (int)(p2.y+py+2));
+        g2.drawLine((int)(p1.x-px+2), (int)(p1.y-py+2), (int)(p2.x-px+2), (int)(p2.y-py+2));
+        g2.setColor(new Color(101,67,33));
+        g2.drawLine((int)(p1.x+px), (int)(p1.y+py), (int)(p2.x+px), (int)(p2.y+py));
+        g2.drawLine((int)(p1.x-px), (int)(p1.y-py), (int)(p2.x-px), (int)(p2.y-py));
+        g2.setStroke(new BasicStroke(4f));
+        for(double t=25; t<dist-10; t+=25) {
+            double cx = p1.x+ux*t, cy = p1.y+uy*t;
+            g2.setColor(new Color(0,0,0,80)); g2.drawLine((int)(cx+px+1), (int)(cy+py+2), (int)(cx-px+1), (int)(cy-py+2));
+            g2.setColor(new Color(160,112,66)); g2.drawLine((int)(cx+px), (int)(cy+py), (int)(cx-px), (int)(cy-py));
+        }
+    }
+
+    // Satu komponen untuk seluruh board: tile dari cache bitmap (per warna x poin),
+    // pawn & ladder digambar di atasnya. Hanya tile yang kena clip yang digambar.
+    private class BoardCanvas extends JPanel {
+        private final BufferedImage[] tileCache = new BufferedImage[6]; // [warna*3 + poin-1]
+        private int cacheW, cacheH;
+        private final LadderLayer ladders = new LadderLayer();
+        private final Consumer<Graphics2D> drawLadders = this::drawLadders;
+        private final Color idColor = new Color(80,80,80);
+
+        public BoardCanvas() { setOpaque(false); }
+
+
+        private int cellW() { Insets in = getInsets(); return (getWidth()-in.left-in.right) / board.size; }
+        private int cellH() { Insets in = getInsets(); return (getHeight()-in.top-in.bottom) / board.size; }
+        private int originX() { Insets in = getInsets(); return in.left + (getWidth()-in.left-in.right - cellW()*board.size) / 2; }
+        private int originY() { Insets in = getInsets(); return in.top + (getHeight()-in.top-in.bottom - cellH()*board.size) / 2; }
+
+        public Rectangle tileBounds(int id) {
+            int cw = cellW(), ch = cellH();
+            return new Rectangle(originX() + board.getCol(id)*cw, originY() + board.getRow(id)*ch, cw, ch);
+        }
+
+        private BufferedImage tileImage(int scheme, int pts, int cw, int ch) {
+            if(cw != cacheW || ch != cacheH) { Arrays.fill(tileCache, null); cacheW = cw; cacheH = ch; }
+            int k = scheme*3 + pts-1;
+            if(tileCache[k] == null) {
+                GraphicsConfiguration gc = getGraphicsConfiguration();
+                BufferedImage img = gc != null ? gc.createCompatibleImage(cw, ch, Transparency.TRANSLUCENT) : new BufferedImage(cw, ch, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = img.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                GradientPanel.paintTile(g, cw, ch, scheme==0 ? blueCenter : creamCenter, scheme==0 ? blueEdge : creamEdge, pts);
+                g.setColor(Color.WHITE); g.setStroke(new BasicStroke(1f)); g.drawRect(0, 0, cw-1, ch-1);
+                g.dispose();
+                tileCache[k] = img;
+            }
+            return tileCache[k];
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            long t0 = System.nanoTime();
+            super.paintComponent(g);
+            if(occupancy == null) return;
+            int cw = cellW(), ch = cellH();
+            if(cw <= 0 || ch <= 0) return;
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int ox = originX(), oy = originY(), n = board.size;
+
+            Rectangle clip = g.getClipBounds();
+            if(clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+            int c0 = Math.max(0, (clip.x-ox)/cw), c1 = Math.min(n-1, (clip.x+clip.width-ox)/cw);
+            int r0 = Math.max(0, (clip.y-oy)/ch), r1 = Math.min(n-1, (clip.y+clip.height-oy)/ch);
+
+            TextCache.Face idFace = TextCache.face(g2, AppFonts.BOLD, 14f);
+            g2.setColor(idColor);
+            for(int r=r0; r<=r1; r++) {
+                for(int c=c0; c<=c1; c++) {
+                    int id = board.idAt(r, c), x = ox + c*cw, y = oy + r*ch;
+                    g2.drawImage(tileImage((r+c)%2, board.getPoint(id), cw, ch), x, y, null);
+                    g2.drawGlyphVector(idFace.number(id), x + cw - 8 - idFace.numberWidth(id), y + 6 + idFace.ascent);
+                    if(occupancy[id] != 0) { GradientPanel.paintPawns(g2, x, y, cw, ch, occupancy[id]); g2.setColor(idColor); }
+                }
+            }
+
+            ladders.paint(g2, this, board.getLayoutVersion(), drawLadders);
+            GameMetrics.get().record("paint.board", System.nanoTime() - t0);
+        }
+
+        private void drawLadders(Graphics2D g2) {
+            int cw = cellW(), ch = cellH(), ox = originX(), oy = originY();
+            for(int i=0; i<board.getShortcutCount(); i++) {
+                int src = board.getShortcutSource(i), dst = board.getShortcut(src);
+                Point p1 = new Point(ox + board.getCol(src)*cw + cw/2, oy + board.getRow(src)*ch + ch/2);
+                Point p2 = new Point(ox + board.getCol(dst)*cw + cw/2, oy + board.getRow(dst)*ch + ch/2);
+                drawLadder(g2, p1, p2);
             }
         }
     }
 
+    // Scoreboard virtual: JList 2 kolom dengan satu renderer, hanya kartu yang terlihat yang digambar.
+    // Update skor hanya me-repaint kartu yang skornya berubah.
     private class SportsScoreboardPanel extends JPanel {
-        private JPanel[] playerPanels;
-        private JLabel[] scoreLabels;
-        private JLabel[] nameLabels;
-        private JLabel[] highscoreLabels;
+        private static final int CARD_W = 130, CARD_H = 70, VISIBLE_ROWS = 2;
+        private String[] names = new String[0];
+        private int[] scores = new int[0], best = new int[0];
+        private final Model model = new Model();
+        private final JList<Integer> list = new JList<>(model);
+
+        private class Model extends AbstractListModel<Integer> {
+            @Override public int getSize() { return names.length; }
+            @Override public Integer getElementAt(int i) { return i + 1; }
+            void changed(int from, int to) { fireContentsChanged(this, from, to); }
+        }
 
         public SportsScoreboardPanel() {
             setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
             setBackground(UITheme.BG_PANEL); setOpaque(false);
-        }
-        public void init(int num, String[] names, HighScoreManager mgr) {
-            removeAll();
-            playerPanels = new JPanel[num]; scoreLabels = new JLabel[num];
-            nameLabels = new JLabel[num]; highscoreLabels = new JLabel[num];
-
             JLabel title = new JLabel("LIVE SCORE");
-            title.setFont(AppFonts.BOLD.deriveFont(16f));
+            title.setFont(TextCache.font(AppFonts.BOLD, 16f));
             title.setForeground(UITheme.TEXT_SUB);
             title.setAlignmentX(CENTER_ALIGNMENT);
-            add(title); add(Box.createRigidArea(new Dimension(0, 10)));
-            JPanel grid = new JPanel(new GridLayout(0, 2, 10, 10));
-            grid.setOpaque(false);
-
-            for(int i=0; i<num; i++) {
-                int pid = i+1;
-                JPanel p = new JPanel(new BorderLayout());
-                p.setBackground(UITheme.BG_DARK);
-                p.setBorder(new CompoundBorder(new LineBorder(GradientPanel.getPlayerColor(pid), 1, true), new EmptyBorder(5,10,5,10)));
-                p.setPreferredSize(new Dimension(130, 70));
-
-                JPanel info = new JPanel(new GridLayout(2, 1));
-                info.setOpaque(false);
-                JLabel n = new JLabel(names[i]);
-                n.setFont(AppFonts.BOLD.deriveFont(13f)); n.setForeground(GradientPanel.getPlayerColor(pid));
-                JLabel best = new JLabel("Best: " + mgr.getScore(names[i]));
-                best.setFont(AppFonts.REGULAR.deriveFont(10f)); best.setForeground(Color.GRAY);
-                info.add(n); info.add(best);
-
-                JLabel s = new JLabel("0");
-                s.setFont(AppFonts.MONO.deriveFont(28f)); s.setForeground(Color.WHITE); s.setHorizontalAlignment(SwingConstants.RIGHT);
-
-                p.add(info, BorderLayout.WEST); p.add(s, BorderLayout.EAST);
-                playerPanels[i] = p; scoreLabels[i] = s; nameLabels[i] = n; highscoreLabels[i] = best;
-                grid.add(p);
-            }
-            add(grid); revalidate(); repaint();
-        }
-        public void updateScores(int[] scores) {
-            if(scoreLabels==null) return;
-            for(int i=0; i<scores.length && i<scoreLabels.length; i++) scoreLabels[i].setText(String.valueOf(scores[i]));
+
+            list.setLayoutOrientation(JList.HORIZONTAL_WRAP); list.setVisibleRowCount(VISIBLE_ROWS);
+            list.setFixedCellWidth(CARD_W + 10); list.setFixedCellHeight(CARD_H + 10); // tanpa ukur semua sel
+            list.setCellRenderer(new Card()); list.setOpaque(false); list.setFocusable(false);
+            JScrollPane sp = new JScrollPane(list, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+            sp.setBorder(null); sp.setOpaque(false); sp.getViewport().setOpaque(false); sp.setAlignmentX(CENTER_ALIGNMENT);
+            add(title); add(Box.createRigidArea(new Dimension(0, 10))); add(sp);
         }
+
+        public void init(int num, String[] names, HighScoreManager mgr) {
+            this.names = names.clone(); scores = new int[num]; best = new int[num];
+            for(int i=0; i<num; i++) best[i] = mgr.getScore(names[i]);
+            list.setVisibleRowCount(Math.min(VISIBLE_ROWS, (num + 1) / 2));
+            model.changed(0, Math.max(0, num - 1));
+            list.clearSelection();
+            revalidate(); repaint();
+        }
+
+        public void updateScores(int[] s) {
+            for(int i=0; i<s.length && i<scores.length; i++) {
+                if(scores[i] != s[i]) { scores[i] = s[i]; model.changed(i, i); }
+            }
+        }
+
         public void highlight(int pid) {
-            if(playerPanels==null) return;
-            for(int i=0; i<playerPanels.length; i++) playerPanels[i].setBackground(i==pid-1 ? UITheme.BG_DARK.brighter() : UITheme.BG_DARK);
+            if(pid < 1 || pid > names.length) return;
+            list.setSelectedIndex(pid-1); list.ensureIndexIsVisible(pid-1);
+        }
+
+        // Satu komponen dipakai ulang untuk semua kartu
+        private class Card extends JPanel implements ListCellRenderer<Integer> {
+            private final JLabel name = new JLabel(), bestLabel = new JLabel(), score = new JLabel();
+            private final Border[] borders = new Border[MAX_PLAYERS + 1];
+
+            Card() {
+                super(new BorderLayout());
+                JPanel info = new JPanel(new GridLayout(2, 1)); info.setOpaque(false);
+                name.setFont(TextCache.font(AppFonts.BOLD, 13f));
+                bestLabel.setFont(TextCache.font(AppFonts.REGULAR, 10f)); bestLabel.setForeground(Color.GRAY);
+                score.setFont(TextCache.font(AppFonts.MONO, 28f)); score.setForeground(Color.WHITE); score.setHorizontalAlignment(SwingConstants.RIGHT);
+                info.add(name); info.add(bestLabel);
+                add(info, BorderLayout.WEST); add(score, BorderLayout.EAST);
+                setOpaque(false); // background hanya di dalam margin (jarak antar kartu)
+            }
+
+            @Override protected void paintComponent(Graphics g) {
+                g.setColor(getBackground()); g.fillRect(5, 5, getWidth() - 10, getHeight() - 10);
+            }
+
+            @Override public Component getListCellRendererComponent(JList<? extends Integer> l, Integer value, int index, boolean selected, boolean focus) {
+                int pid = value;
+                if(borders[pid] == null) borders[pid] = new CompoundBorder(new EmptyBorder(5,5,5,5),
+                        new CompoundBorder(new LineBorder(GradientPanel.getPlayerColor(pid), 1, true), new EmptyBorder(5,10,5,10)));
+                setBorder(borders[pid]);
+                setBackground(selected ? UITheme.BG_DARK.brighter() : UITheme.BG_DARK);
+                name.setText(names[index]); name.setForeground(GradientPanel.getPlayerColor(pid));
+                bestLabel.setText("Best: " + best[index]);
+                score.setText(String.valueOf(scores[index]));
+                return this;
+            }
         }
     }
 
     // ==========================================
     // 4. MAIN GUI & LOGIC
     // ==========================================
-    private static final int SIZE = 8;
-    private Node[][] logicBoard = new Node[SIZE][SIZE];
+    private final int boardSize;
+    private BoardModel board;
+    private int[] optimal; private int optimalLayout = -1, hintPid = 1; // tabel ShortestPathEngine.turns untuk layout aktif (null = sedang dihitung)
     private Map<Integer, GradientPanel> panelMap = new HashMap<>();
+    // Renderer: satu canvas (default) atau GridLayout GradientPanel (-Dsnake.renderer=panels)
+    private final boolean canvasRenderer = !"panels".equals(System.getProperty("snake.renderer"));
+    private BoardCanvas boardCanvas;
     private int playerCount = 2;
     private String[] playerNames;
-    private List<Stack<Integer>> allPlayerStacks = new ArrayList<>();
+    private int[] positions;     // posisi sekarang, index pid-1
+    // Pawn yang tergambar: bitmask pemain per tile + tile tiap pawn (0 = sedang dianimasikan / tidak tampil).
+    // Pindah pawn = ubah 2 bit + repaint 2 tile, tidak tergantung ukuran board.
+    private long[] occupancy;
+    private int[] pawnAt = new int[0];
+    private TurnHistory history; // snapshot per turn untuk undo/rewind
+    private int[] queueOrder;
     private int[] playerScores;
     private Deque<Integer> turnQueue = new ArrayDeque<>();
-    private Map<Integer, Integer> shortcuts = new HashMap<>();
-    private Random random = new Random();
+    // Satu sesi = satu RNG dari seed (-Dsnake.seed=N). Urutan pemakaian sama dengan GameEngine
+    // (points + shortcut per game, lalu hijau/merah + dadu per turn) -> sesi bisa di-replay.
+    private SplittableRandom random = new SplittableRandom();
+    private final Random cosmetic = new Random(); // animasi dadu, tidak menyentuh RNG game
+    private long sessionSeed;
+    private int gameNumber;
+    private TurnJournal.Writer journal; // null saat replay / setelah error tulis
+    private TurnJournal.Reader replay;
+    private int replayIndex;
+    private static final Path REPLAY_DIR = Paths.get("snake_replays");
+    private static final int REPLAY_GAP_MS = 400;
+    // Mode client (-Dsnake.server=host:port): dadu dari GameServer, RNG lokal jalan paralel untuk cek.
+    // remote hanya disentuh EDT; semua panggilan Client jalan berurutan di thread net, hasil balik lewat invokeLater.
+    private GameServer.Client remote;
+    private java.util.concurrent.CompletableFuture<GameServer.Client> pendingRoll;
+    private final ExecutorService net = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "GameServer-client"); t.setDaemon(true); return t;
+    });
+    // Pemain komputer: rollout MonteCarloBot di thread sendiri dengan budget -Dsnake.botBudgetMs (default 20)
+    private boolean withBots;
+    private boolean[] bots;
+    private MonteCarloBot bot;
+    private int botTurn; // token: hasil rollout yang basi (restart / undo) dibuang
+    private static final long BOT_BUDGET_NS = Long.getLong("snake.botBudgetMs", MonteCarloBot.DEFAULT_BUDGET_MS) * 1_000_000;
+    private static final int BOT_GAP_MS = 400;
+    private final ExecutorService botThread = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "MonteCarloBot-turn"); t.setDaemon(true); return t;
+    });
     private HighScoreManager highScoreManager;
     private boolean inputEnabled = false; // FLAG INPUT
+    private final Timeline timeline = new Timeline();
+    private static final int ROLL_MS = 500, HOP_MS = 300, SHORTCUT_DELAY_MS = 500;
+    private final int[] pathBuf = new int[GameEngine.MAX_DICE];
+    private long turnStartNs; // playTurn -> finalizeTurn (metrik "turn")
 
     // UI Components
     private CardLayout cardLayout;
-    private JPanel mainContainer, boardPanel;
+    private JPanel mainContainer, menuPanel, boardPanel;
+    private JButton[] menuButtons;
+    private JProgressBar loadingBar;
     private AnimationPanel animationPanel;
-    private JLabel statusLabel, diceImageLabel, diceTextLabel;
-    private JTextArea historyArea;
-    private JButton restartButton;
+    private MetricsOverlay metricsOverlay;
+    private JLabel statusLabel, diceImageLabel, diceTextLabel, hintLabel;
+    private DiceAtlas diceAtlas;
+    private final GameLog gameLog = new GameLog();
+    private JList<String> logList;
+    private JButton restartButton, undoButton;
     private SportsScoreboardPanel scoreboardPanel;
 
     private final Color blueCenter = Color.decode("#E3F2FD"), blueEdge = Color.decode("#90CAF9");
     private final Color creamCenter = Color.decode("#FFFDE7"), creamEdge = Color.decode("#FFF59D");
-    private final Color[] playerTextColors = {Color.decode("#FF5252"), Color.decode("#448AFF"), Color.decode("#69F0AE"), Color.decode("#FFAB40")};
 
-    public SnakeDijkstraGUI() {
+    public SnakeDijkstraGUI() { this(BoardModel.DEFAULT_SIZE); }
+
+    public SnakeDijkstraGUI(int boardSize) {
+        this.boardSize = boardSize;
         UITheme.applyTheme();
-        highScoreManager = new HighScoreManager();
+        GameMetrics.get().setVoices(SoundManager::getActiveVoices);
+        GameMetrics.get().start();
         setTitle("Snake Game: Ultimate Edition");
         setSize(1280, 900);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override public void windowClosing(WindowEvent e) { closeJournal(); closeRemote(); }
+        });
         cardLayout = new CardLayout();
         mainContainer = new JPanel(cardLayout);
-        mainContainer.add(createMenuPanel(), "MENU");
-        mainContainer.add(createGamePanel(), "GAME");
+        mainContainer.add(menuPanel = createMenuPanel(), "MENU");
         add(mainContainer);
         setLocationRelativeTo(null);
+        loadAssets();
+    }
+
+    // Menu tampil langsung. Font, skor & atlas dadu (critical) serta sound di-load paralel di luar EDT;
+    // panel game dibuat dan tombol menu aktif begitu asset critical siap.
+    private void loadAssets() {
+        AssetLoader loader = new AssetLoader();
+        for(String f : AppFonts.FILES) loader.add(f, "font", true, () -> AppFonts.loadCustomFont(f));
+        loader.add("highscores", "data", true, () -> highScoreManager = new HighScoreManager());
+        loader.add("dice", "image", true, () -> diceAtlas = new DiceAtlas(100, DiceAtlas.screenScale()));
+        for(String c : SoundManager.CUES) loader.add(c, "sound", false, () -> SoundManager.load(c));
+        loadingBar.setMaximum(loader.total());
+        loader.onProgress(() -> SwingUtilities.invokeLater(() -> {
+            loadingBar.setValue(loader.loaded()); loadingBar.setString("Loading " + loader.loaded() + "/" + loader.total());
+        }));
+        loader.critical().thenRun(() -> SwingUtilities.invokeLater(this::assetsReady));
+        loader.all().thenRun(() -> { System.out.println(loader.report()); SwingUtilities.invokeLater(() -> loadingBar.setVisible(false)); });
+        loader.start();
+    }
+
+    private void assetsReady() {
+        if(highScoreManager == null) highScoreManager = new HighScoreManager(); // task gagal: coba lagi di sini
+        if(diceAtlas == null) diceAtlas = new DiceAtlas(100, DiceAtlas.screenScale());
+        AppFonts.swap(menuPanel);
+        mainContainer.add(createGamePanel(), "GAME");
+        for(JButton b : menuButtons) b.setEnabled(true);
     }
 
     private JPanel createMenuPanel() {
@@ -368,25 +1039,40 @@ public class SnakeDijkstraGUI extends JFrame {
         card.setBackground(new Color(30, 30, 46, 200));
         card.setBorder(new CompoundBorder(new LineBorder(new Color(255,255,255,50), 1, true), new EmptyBorder(40, 60, 40, 60)));
 
-        JLabel t = new JLabel("DICE MASTER"); t.setFont(AppFonts.BOLD.deriveFont(48f)); t.setForeground(UITheme.ACCENT); t.setAlignmentX(CENTER_ALIGNMENT);
-        JLabel t2 = new JLabel("SNAKE & LADDER"); t2.setFont(AppFonts.BOLD.deriveFont(32f)); t2.setForeground(Color.WHITE); t2.setAlignmentX(CENTER_ALIGNMENT);
-        JLabel s = new JLabel("Strategy Board Game"); s.setFont(AppFonts.REGULAR.deriveFont(16f)); s.setForeground(UITheme.TEXT_SUB); s.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel t = new JLabel("DICE MASTER"); t.setFont(TextCache.font(AppFonts.BOLD, 48f)); t.setForeground(UITheme.ACCENT); t.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel t2 = new JLabel("SNAKE & LADDER"); t2.setFont(TextCache.font(AppFonts.BOLD, 32f)); t2.setForeground(Color.WHITE); t2.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel s = new JLabel("Strategy Board Game"); s.setFont(TextCache.font(AppFonts.REGULAR, 16f)); s.setForeground(UITheme.TEXT_SUB); s.setAlignmentX(CENTER_ALIGNMENT);
 
         JButton b = styleButton("START ADVENTURE", UITheme.BUTTON_GREEN, Color.BLACK);
         b.setPreferredSize(new Dimension(200, 50)); b.setAlignmentX(CENTER_ALIGNMENT);
+        JButton lb = styleButton("LEADERBOARD", UITheme.BUTTON_BLUE, Color.BLACK);
+        lb.setAlignmentX(CENTER_ALIGNMENT);
+        lb.addActionListener(e -> showLeaderboardDialog());
+        JButton rp = styleButton("REPLAY", UITheme.BG_PANEL, Color.WHITE);
+        rp.setAlignmentX(CENTER_ALIGNMENT);
+        rp.addActionListener(e -> chooseReplay());
+        menuButtons = new JButton[]{b, lb, rp};
+        for(JButton mb : menuButtons) mb.setEnabled(false); // sampai asset critical siap
+        loadingBar = new JProgressBar(); loadingBar.setStringPainted(true); loadingBar.setString("Loading...");
+        loadingBar.setFont(TextCache.font(AppFonts.REGULAR, 12f)); loadingBar.setAlignmentX(CENTER_ALIGNMENT);
 
         b.addActionListener(e -> showPlayerSelectionDialog(count -> {
             playerCount = count;
             askPlayerNames();
-            initGameData(); updateGraphics();
-            cardLayout.show(mainContainer, "GAME");
-            boardPanel.repaint();
-            // SETUP SHORTCUT ENTER FOR GAME
-            setupGameInput();
+            newSession(() -> {
+                initGameData(); updateGraphics();
+                cardLayout.show(mainContainer, "GAME");
+                boardPanel.repaint();
+                // SETUP SHORTCUT ENTER FOR GAME
+                setupGameInput();
+            });
         }));
 
         card.add(t); card.add(t2); card.add(Box.createRigidArea(new Dimension(0, 10)));
         card.add(s); card.add(Box.createRigidArea(new Dimension(0, 40))); card.add(b);
+        card.add(Box.createRigidArea(new Dimension(0, 15))); card.add(lb);
+        card.add(Box.createRigidArea(new Dimension(0, 15))); card.add(rp);
+        card.add(Box.createRigidArea(new Dimension(0, 15))); card.add(loadingBar);
         p.add(card); return p;
     }
 
@@ -402,13 +1088,43 @@ public class SnakeDijkstraGUI extends JFrame {
                 if (inputEnabled) playTurn();
             }
         });
+        // SPACE: skip animasi turn ini, F: toggle fast-forward
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_SPACE, 0), "SKIP_ANIM");
+        am.put("SKIP_ANIM", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) { timeline.skip(); }
+        });
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_F, 0), "FAST_FORWARD");
+        am.put("FAST_FORWARD", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) { timeline.setFastForward(!timeline.isFastForward()); }
+        });
+        // F3: overlay metrik
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "METRICS");
+        am.put("METRICS", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) { metricsOverlay.toggle(); }
+        });
+        // U: undo 1 turn, Shift+U: rewind N turn
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_U, 0), "UNDO");
+        am.put("UNDO", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) { undo(1); }
+        });
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_U, InputEvent.SHIFT_DOWN_MASK), "REWIND");
+        am.put("REWIND", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) { askRewind(); }
+        });
     }
 
     private JPanel createGamePanel() {
         JPanel p = new JPanel(new BorderLayout());
         JLayeredPane lp = new JLayeredPane(); lp.setLayout(new OverlayLayout(lp));
         animationPanel = new AnimationPanel(); lp.add(animationPanel, JLayeredPane.PALETTE_LAYER);
-        boardPanel = new BoardDrawingPanel(new GridLayout(SIZE, SIZE));
+        metricsOverlay = new MetricsOverlay(); lp.add(metricsOverlay, JLayeredPane.DRAG_LAYER);
+        if(canvasRenderer) boardPanel = boardCanvas = new BoardCanvas();
+        else boardPanel = new BoardDrawingPanel(new GridLayout(boardSize, boardSize));
         boardPanel.setBorder(new LineBorder(UITheme.BG_PANEL, 5));
         initBoardLogic(); initBoardVisual();
         lp.add(boardPanel, JLayeredPane.DEFAULT_LAYER);
@@ -417,12 +1133,12 @@ public class SnakeDijkstraGUI extends JFrame {
         side.setPreferredSize(new Dimension(320, 0)); side.setBorder(new EmptyBorder(30,20,30,20));
         side.setBackground(UITheme.BG_PANEL);
 
-        statusLabel = new JLabel("PLAYER 1 TURN"); statusLabel.setFont(AppFonts.BOLD.deriveFont(24f));
-        statusLabel.setForeground(playerTextColors[0]); statusLabel.setAlignmentX(CENTER_ALIGNMENT);
+        statusLabel = new JLabel("PLAYER 1 TURN"); statusLabel.setFont(TextCache.font(AppFonts.BOLD, 24f));
+        statusLabel.setForeground(GradientPanel.getPlayerColor(1)); statusLabel.setAlignmentX(CENTER_ALIGNMENT);
 
         scoreboardPanel = new SportsScoreboardPanel(); scoreboardPanel.setAlignmentX(CENTER_ALIGNMENT);
 
-        diceImageLabel = new JLabel(createDiceImage(1, 100, Color.BLACK)); diceImageLabel.setAlignmentX(CENTER_ALIGNMENT);
+        diceImageLabel = new JLabel(diceAtlas.get(1, Color.BLACK)); diceImageLabel.setAlignmentX(CENTER_ALIGNMENT);
         diceImageLabel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
         diceImageLabel.addMouseListener(new MouseAdapter() {
             @Override
@@ -431,29 +1147,44 @@ public class SnakeDijkstraGUI extends JFrame {
             }
         });
 
-        diceTextLabel = new JLabel("Click Dice or Enter"); diceTextLabel.setFont(AppFonts.REGULAR.deriveFont(14f));
+        diceTextLabel = new JLabel("Click Dice or Enter"); diceTextLabel.setFont(TextCache.font(AppFonts.REGULAR, 14f));
         diceTextLabel.setForeground(UITheme.TEXT_MAIN); diceTextLabel.setAlignmentX(CENTER_ALIGNMENT);
+        hintLabel = new JLabel(" "); hintLabel.setFont(TextCache.font(AppFonts.REGULAR, 12f));
+        hintLabel.setForeground(UITheme.TEXT_SUB); hintLabel.setAlignmentX(CENTER_ALIGNMENT);
 
         restartButton = styleButton("RESTART GAME", UITheme.BUTTON_RED, Color.BLACK);
         restartButton.setAlignmentX(CENTER_ALIGNMENT); restartButton.setMaximumSize(new Dimension(280, 45));
-        restartButton.setFont(AppFonts.BOLD.deriveFont(14f));
+        restartButton.setFont(TextCache.font(AppFonts.BOLD, 14f));
         restartButton.setFocusable(false); // CRITICAL: PREVENT ENTER KEY TRIGGER
+        undoButton = styleButton("UNDO TURN", UITheme.BG_DARK, Color.WHITE);
+        undoButton.setAlignmentX(CENTER_ALIGNMENT); undoButton.setMaximumSize(new Dimension(280, 45));
+        undoButton.setFont(TextCache.font(AppFonts.BOLD, 14f)); undoButton.setFocusable(false);
+        undoButton.setToolTipText("U: undo 1 turn, Shift+U: rewind N turn");
+        undoButton.addActionListener(e -> undo(1));
+
         restartButton.addActionListener(e -> showRestartConfirmDialog(() -> {
+            if(replay != null) stopReplay(null);
             askPlayerNames();
-            initGameData(); updateGraphics(); boardPanel.repaint();
+            Runnable restart = () -> { initGameData(); updateGraphics(); boardPanel.repaint(); };
+            if(journal == null) newSession(restart); // keluar dari replay -> sesi baru
+            else restart.run();
         }));
 
-        historyArea = new JTextArea(10, 1); historyArea.setEditable(false);
-        historyArea.setFont(AppFonts.MONO.deriveFont(12f)); historyArea.setBackground(new Color(30,30,46));
-        historyArea.setForeground(new Color(166,227,161)); historyArea.setBorder(BorderFactory.createEmptyBorder(10,10,10,10));
-        JScrollPane sp = new JScrollPane(historyArea);
-        sp.setBorder(BorderFactory.createTitledBorder(new LineBorder(Color.GRAY), "Game Log", 0, 0, AppFonts.BOLD.deriveFont(12f), Color.WHITE));
+        logList = new JList<>(gameLog); logList.setFocusable(false);
+        logList.setFont(TextCache.font(AppFonts.MONO, 12f)); logList.setBackground(new Color(30,30,46));
+        logList.setForeground(new Color(166,227,161)); logList.setBorder(BorderFactory.createEmptyBorder(10,10,10,10));
+        logList.setSelectionBackground(logList.getBackground()); logList.setSelectionForeground(logList.getForeground());
+        logList.setPrototypeCellValue("Player 4: 9999 -> 9999 (LINK -> 9999) [+3 pts]"); // tinggi baris tetap, tanpa ukur semua baris
+        logList.setVisibleRowCount(10);
+        JScrollPane sp = new JScrollPane(logList);
+        sp.setBorder(BorderFactory.createTitledBorder(new LineBorder(Color.GRAY), "Game Log", 0, 0, TextCache.font(AppFonts.BOLD, 12f), Color.WHITE));
         sp.setOpaque(false); sp.getViewport().setOpaque(false); sp.setAlignmentX(CENTER_ALIGNMENT);
 
         side.add(statusLabel); side.add(Box.createRigidArea(new Dimension(0, 15)));
         side.add(scoreboardPanel); side.add(Box.createRigidArea(new Dimension(0, 20)));
-        side.add(diceImageLabel); side.add(diceTextLabel); side.add(Box.createRigidArea(new Dimension(0, 20)));
+        side.add(diceImageLabel); side.add(diceTextLabel); side.add(hintLabel); side.add(Box.createRigidArea(new Dimension(0, 20)));
         side.add(Box.createRigidArea(new Dimension(0, 20)));
+        side.add(undoButton); side.add(Box.createRigidArea(new Dimension(0, 10)));
         side.add(restartButton); side.add(Box.createRigidArea(new Dimension(0, 20)));
         side.add(sp);
 
@@ -462,8 +1193,10 @@ public class SnakeDijkstraGUI extends JFrame {
     }
 
     private void askPlayerNames() {
-        playerNames = new String[playerCount];
+        playerNames = new String[playerCount]; bots = new boolean[playerCount];
+        if(!withBots && playerCount > 4) { askPlayerNamesAtOnce(); return; }
         for (int i = 0; i < playerCount; i++) {
+            if(withBots && i > 0) { bots[i] = true; playerNames[i] = "BOT " + (i + 1); continue; } // Player 1 selalu manusia
             String def = "Player " + (i + 1);
             String input = (String) JOptionPane.showInputDialog(this,
                     "Masukkan Nama Player " + (i + 1), "Player Name",
@@ -472,56 +1205,282 @@ public class SnakeDijkstraGUI extends JFrame {
         }
     }
 
-    private void initGameData() {
-        allPlayerStacks.clear(); playerScores = new int[playerCount];
-        for(int i=0; i<playerCount; i++) {
-            Stack<Integer> s = new Stack<>(); s.push(1);
-            allPlayerStacks.add(s); playerScores[i] = 0;
+    // Banyak pemain: satu dialog, nama dipisah koma; yang kosong memakai "Player N"
+    private void askPlayerNamesAtOnce() {
+        String input = (String) JOptionPane.showInputDialog(this,
+                "Nama " + playerCount + " pemain, pisahkan dengan koma", "Player Names",
+                JOptionPane.PLAIN_MESSAGE, null, null, "");
+        String[] in = input != null ? input.split(",") : new String[0];
+        for (int i = 0; i < playerCount; i++) {
+            String n = i < in.length ? in[i].trim() : "";
+            playerNames[i] = n.isEmpty() ? "Player " + (i + 1) : n;
         }
+    }
+
+    private void initGameData() {
+        positions = new int[playerCount]; playerScores = new int[playerCount];
+        Arrays.fill(positions, 1);
         turnQueue.clear(); for(int i=1; i<=playerCount; i++) turnQueue.add(i);
+        if(history == null || history.getPlayerCount() != playerCount) { history = new TurnHistory(playerCount); queueOrder = new int[playerCount]; }
+        history.reset(positions, playerScores, queueOrder());
 
-        inputEnabled = true; // Allow input
+        inputEnabled = replay == null; // Allow input (replay jalan sendiri)
+        newBoard();
         scoreboardPanel.init(playerCount, playerNames, highScoreManager);
         scoreboardPanel.updateScores(playerScores);
-        historyArea.setText("Game Started!\n");
-        statusLabel.setText(playerNames[0].toUpperCase() + " TURN");
-        statusLabel.setForeground(playerTextColors[0]);
-        scoreboardPanel.highlight(1); genShortcuts();
-        diceImageLabel.setIcon(createDiceImage(1, 100, Color.BLACK));
+        gameLog.clear(); log((replay != null ? "Replay" : "Game") + " Started! (seed " + sessionSeed + ", game " + gameNumber + ")");
+        diceImageLabel.setIcon(diceAtlas.get(1, Color.BLACK));
         diceTextLabel.setText("Click Dice or Enter"); diceTextLabel.setForeground(UITheme.TEXT_MAIN);
+        showTurn(1);
+        botTurn++; startBotTurn();
+    }
+
+    private void showTurn(int next) {
+        statusLabel.setText(playerNames[next-1].toUpperCase() + " TURN");
+        statusLabel.setForeground(GradientPanel.getPlayerColor(next));
+        scoreboardPanel.highlight(next);
+        updateHint(next);
+    }
+
+    // Giliran komputer: estimasi peluang menang di botThread (EDT tidak menunggu), lalu lempar dadu otomatis.
+    // Aturan tidak punya pilihan (shortcut & double turn wajib), jadi bot hanya melaporkan estimasinya.
+    private boolean startBotTurn() {
+        int pid = turnQueue.peekFirst();
+        if(replay != null || !bots[pid-1]) return false;
+        inputEnabled = false;
+        if(bot == null) bot = new MonteCarloBot();
+        int token = ++botTurn;
+        int[] pos = positions.clone(), score = playerScores.clone(), order = queueOrder().clone();
+        BoardModel b = board.snapshot(); // restart selama rollout -> newBoard tidak mengubah board milik worker
+        java.util.concurrent.CompletableFuture.supplyAsync(() -> bot.estimate(b, pos, score, order, pid, BOT_BUDGET_NS), botThread)
+            .whenComplete((e, err) -> SwingUtilities.invokeLater(() -> {
+                if(token != botTurn) return;
+                if(e != null) log(String.format("%s: peluang menang %.1f%% (%,d rollout, %d ms)", playerNames[pid-1], 100 * e.winChance(), e.rollouts, e.nanos / 1_000_000));
+                timeline.delay(BOT_GAP_MS).call(() -> { if(token == botTurn) playTurn(); });
+            }));
+        return true;
+    }
+
+    private int[] queueOrder() {
+        int i = 0;
+        for(int pid : turnQueue) queueOrder[i++] = pid;
+        return queueOrder;
     }
 
-    private void genShortcuts() {
-        shortcuts.clear();
-        while(shortcuts.size()<5) {
-            int a = random.nextInt(62)+2, b = random.nextInt(62)+2;
-            if(a!=b && !shortcuts.containsKey(Math.min(a,b)) && !shortcuts.containsValue(Math.min(a,b)))
-                shortcuts.put(Math.min(a,b), Math.max(a,b));
+    // ==========================================
+    // UNDO / REWIND
+    // ==========================================
+    private void undo(int n) {
+        if(!inputEnabled || replay != null || history == null) return;
+        int k = rewind(n);
+        if(k > 0) { botTurn++; startBotTurn(); }
+        if(k > 0 && journal != null) try { journal.rewind(k); } catch (IOException e) { journalFailed(e); }
+        if(k > 0 && remote != null) remoteCall(c -> c.rewind(k));
+    }
+
+    private void askRewind() {
+        if(!inputEnabled || replay != null || history == null || history.turns() == 0) return;
+        String in = (String) JOptionPane.showInputDialog(this, "Mundur berapa turn? (maks " + history.turns() + ")", "Rewind",
+                JOptionPane.PLAIN_MESSAGE, null, null, "1");
+        if(in == null) return;
+        try { undo(Integer.parseInt(in.trim())); } catch (NumberFormatException e) { /* input bukan angka: abaikan */ }
+    }
+
+    // State diambil langsung dari satu baris history (tidak tergantung n),
+    // hanya tile yang ditinggal / didatangi pawn yang di-repaint. Dadu tetap lanjut dari RNG.
+    private int rewind(int n) {
+        int k = history.rewind(n);
+        if(k == 0) return 0;
+        int t = history.turns();
+        for(int pid=1; pid<=playerCount; pid++) {
+            int to = history.getPosition(t, pid);
+            showPawn(pid, to);
         }
+        history.copy(t, positions, playerScores, queueOrder);
+        turnQueue.clear(); for(int pid : queueOrder) turnQueue.add(pid);
+        scoreboardPanel.updateScores(playerScores);
+        log("-- Rewind " + k + " turn");
+        showTurn(turnQueue.peekFirst());
+        return k;
     }
 
-    private void initBoardLogic() {
-        int id = 1;
-        for(int r=SIZE-1; r>=0; r--) {
-            boolean l2r = (SIZE-1-r)%2==0;
-            if(l2r) for(int c=0; c<SIZE; c++) logicBoard[r][c] = new Node(id++, r, c);
-            else for(int c=SIZE-1; c>=0; c--) logicBoard[r][c] = new Node(id++, r, c);
+    // Hint jarak optimal dalam turn (double turn tidak dihitung): tabel dihitung di background
+    // sekali per layout, lookup O(1) per turn. Selama tabel belum ada, hint menunggu.
+    private void updateHint(int pid) {
+        hintPid = pid;
+        int layout = board.getLayoutVersion();
+        if(optimalLayout != layout) {
+            optimalLayout = layout;
+            java.util.concurrent.CompletableFuture<int[]> f = ShortestPathEngine.turnsAsync(board, ForkJoinPool.commonPool());
+            optimal = f.getNow(null); // langsung ada jika layout sudah di-cache
+            if(optimal == null) f.thenAccept(d -> SwingUtilities.invokeLater(() -> {
+                if(optimalLayout != layout) return; // layout sudah ganti
+                optimal = d; updateHint(hintPid);
+            }));
+        }
+        if(optimal == null) { hintLabel.setText("Optimal: ..."); return; }
+        int d = optimal[positions[pid-1]];
+        hintLabel.setText(d == ShortestPathEngine.UNREACHABLE ? "Optimal: -" : "Optimal: " + d + " turn lagi");
+    }
+
+    // Sama dengan GameEngine.newBoard: point baru lalu layout shortcut baru
+    private void newBoard() {
+        board.randomizePoints(random);
+        board.genShortcuts(BoardModel.defaultShortcutCount(board.tiles), random);
+        if(boardCanvas == null) { initBoardVisual(); boardPanel.revalidate(); }
+        if(remote != null && gameNumber > 0) remoteCall(GameServer.Client::nextGame);
+        gameNumber++;
+        if(journal != null) try { journal.startGame(); } catch (IOException e) { journalFailed(e); }
+    }
+
+    // ==========================================
+    // SESSION JOURNAL & REPLAY
+    // ==========================================
+    // Sesi baru lalu then (di EDT). Seed dari server jika -Dsnake.server diset, selain itu -Dsnake.seed / jam.
+    // Connect + NEW jalan di thread net; server lambat / mati -> timeout Client, lanjut offline dengan seed lokal.
+    private void newSession(Runnable then) {
+        Long fixed = Long.getLong("snake.seed");
+        String address = System.getProperty("snake.server");
+        long local = fixed != null ? fixed : System.nanoTime();
+        if(address == null) { startSession(local); then.run(); return; }
+        GameServer.Client current = remote;
+        int size = boardSize, players = playerCount;
+        setSessionPending(true);
+        net.execute(() -> {
+            GameServer.Client c = current;
+            try {
+                if(c == null) c = GameServer.Client.connect(address);
+                GameServer.Client ok = c;
+                long seed = c.newSession(size, players, fixed);
+                SwingUtilities.invokeLater(() -> { remote = ok; setSessionPending(false); startSession(seed); then.run(); });
+            } catch (IOException e) {
+                if(c != null) try { c.close(); } catch (IOException ignored) { /* sudah putus */ }
+                SwingUtilities.invokeLater(() -> {
+                    System.out.println("GameServer unavailable: " + e.getMessage());
+                    remote = null; setSessionPending(false); startSession(local); then.run();
+                });
+            }
+        });
+    }
+
+    // Selama menunggu server: tombol yang bisa memulai sesi lain dimatikan
+    private void setSessionPending(boolean pending) {
+        for(JButton b : menuButtons) b.setEnabled(!pending);
+        if(restartButton != null) restartButton.setEnabled(!pending);
+    }
+
+    // Satu panggilan Client di thread net; gagal -> offline (di EDT)
+    private interface RemoteCall { void run(GameServer.Client c) throws IOException; }
+
+    private void remoteCall(RemoteCall call) {
+        GameServer.Client c = remote;
+        net.execute(() -> {
+            try { call.run(c); } catch (IOException e) { SwingUtilities.invokeLater(() -> remoteFailed(c, e)); }
+        });
+    }
+
+    // Error dari client yang sudah diganti / ditutup diabaikan
+    private void remoteFailed(GameServer.Client c, Throwable e) {
+        if(c == null || c != remote) return;
+        System.out.println("GameServer unavailable: " + e.getMessage());
+        log("-- Server tidak tersedia, lanjut offline");
+        closeRemote();
+    }
+
+    private void closeRemote() {
+        if(remote == null) return;
+        GameServer.Client c = remote; remote = null;
+        net.execute(() -> { try { c.close(); } catch (IOException ignored) { /* sudah putus */ } });
+    }
+
+    private void startSession(long seed) {
+        closeJournal();
+        sessionSeed = seed; random = new SplittableRandom(seed); gameNumber = 0;
+        if(replay != null) return;
+        try { journal = new TurnJournal.Writer(REPLAY_DIR.resolve(seed + TurnJournal.EXTENSION), boardSize, playerCount, seed); }
+        catch (IOException e) { journalFailed(e); }
+    }
+
+    private void closeJournal() {
+        if(journal == null) return;
+        try { journal.close(); } catch (IOException e) { System.out.println("Turn journal not saved: " + e.getMessage()); }
+        journal = null;
+    }
+
+    private void journalFailed(IOException e) {
+        System.out.println("Turn journal disabled: " + e.getMessage());
+        try { journal.close(); } catch (IOException | RuntimeException ignored) {}
+        journal = null;
+    }
+
+    private void chooseReplay() {
+        JFileChooser fc = new JFileChooser(REPLAY_DIR.toFile());
+        fc.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Turn journal (*" + TurnJournal.EXTENSION + ")", TurnJournal.EXTENSION.substring(1)));
+        if(fc.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        TurnJournal.Reader r;
+        try { r = new TurnJournal.Reader(fc.getSelectedFile().toPath()); }
+        catch (IOException e) { showStyledInfoDialog("REPLAY", e.getMessage(), true); return; }
+        if(r.boardSize != boardSize) { showStyledInfoDialog("REPLAY", "Journal untuk board " + r.boardSize + "x" + r.boardSize + ", board ini " + boardSize + "x" + boardSize + ".", true); return; }
+        if(r.turns() == 0 || !r.isGameStart(0)) { showStyledInfoDialog("REPLAY", "Journal kosong.", true); return; }
+        if(r.players < 1 || r.players > MAX_PLAYERS) { showStyledInfoDialog("REPLAY", "Journal untuk " + r.players + " pemain, maks " + MAX_PLAYERS + ".", true); return; }
+
+        closeRemote(); // replay selalu offline
+        replay = r; replayIndex = 1;
+        playerCount = r.players; playerNames = new String[playerCount]; bots = new boolean[playerCount];
+        for(int i=0; i<playerCount; i++) playerNames[i] = "Player " + (i + 1);
+        startSession(r.seed);
+        initGameData(); updateGraphics();
+        cardLayout.show(mainContainer, "GAME");
+        boardPanel.repaint();
+        setupGameInput();
+        timeline.delay(REPLAY_GAP_MS).call(this::replayNext);
+    }
+
+    // Record berikutnya: marker -> game baru, selain itu satu turn dengan animasi biasa
+    private void replayNext() {
+        if(replay == null) return;
+        if(replayIndex >= replay.turns()) { stopReplay("Replay selesai (" + gameNumber + " game)."); return; }
+        if(replay.isRewind(replayIndex)) {
+            rewind(replay.end(replayIndex++));
+            timeline.delay(REPLAY_GAP_MS).call(this::replayNext);
+            return;
         }
+        if(replay.isGameStart(replayIndex)) {
+            replayIndex++;
+            initGameData(); updateGraphics(); boardPanel.repaint();
+            timeline.delay(REPLAY_GAP_MS).call(this::replayNext);
+            return;
+        }
+        playTurn();
+    }
+
+    private void stopReplay(String msg) {
+        replay = null; inputEnabled = false;
+        log("-- " + (msg != null ? msg : "Replay dihentikan."));
+        if(msg != null) showStyledInfoDialog("REPLAY", msg, false);
+    }
+
+    private void initBoardLogic() {
+        board = new BoardModel(boardSize);
+        board.randomizePoints(random);
+        occupancy = new long[board.tiles+1];
     }
 
     private void initBoardVisual() {
+        if(boardCanvas != null) return;
         boardPanel.removeAll(); panelMap.clear();
-        for(int r=0; r<SIZE; r++) {
-            for(int c=0; c<SIZE; c++) {
-                Node n = logicBoard[r][c];
+        for(int r=0; r<boardSize; r++) {
+            for(int c=0; c<boardSize; c++) {
+                int id = board.idAt(r, c);
                 Color bg = ((r+c)%2==0)? blueCenter : creamCenter;
                 Color bd = ((r+c)%2==0)? blueEdge : creamEdge;
-                GradientPanel p = new GradientPanel(bg, bd, n.pointValue);
+                GradientPanel p = new GradientPanel(bg, bd, board.getPoint(id));
                 p.setLayout(new BorderLayout()); p.setBorder(new MatteBorder(1,1,1,1,Color.WHITE));
-                JLabel l = new JLabel(String.valueOf(n.id));
-                l.setFont(AppFonts.BOLD.deriveFont(14f)); l.setForeground(new Color(80,80,80));
+                JLabel l = new JLabel(String.valueOf(id));
+                l.setFont(TextCache.font(AppFonts.BOLD, 14f)); l.setForeground(new Color(80,80,80));
                 l.setHorizontalAlignment(SwingConstants.RIGHT); l.setBorder(BorderFactory.createEmptyBorder(6,0,0,8));
-                p.add(l, BorderLayout.NORTH); boardPanel.add(p); panelMap.put(n.id, p);
+                p.setPlayers(occupancy[id]);
+                p.add(l, BorderLayout.NORTH); boardPanel.add(p); panelMap.put(id, p);
             }
         }
     }
@@ -529,28 +1488,59 @@ public class SnakeDijkstraGUI extends JFrame {
     private void playTurn() {
         if(turnQueue.isEmpty()) return;
         inputEnabled = false; // Disable input
+        turnStartNs = System.nanoTime();
         SoundManager.play("dice.wav");
+        if(remote != null && replay == null) {
+            GameServer.Client c = remote; // round trip jalan selama animasi roll
+            pendingRoll = java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+                try { c.roll(); return c; } catch (IOException e) { throw new UncheckedIOException(e); }
+            }, net);
+        }
 
-        javax.swing.Timer t = new javax.swing.Timer(50, null);
-        final int[] f = {0};
-        t.addActionListener(e -> {
-            diceImageLabel.setIcon(createDiceImage(random.nextInt(6)+1, 100, Color.LIGHT_GRAY));
-            if(++f[0]>=10) { ((javax.swing.Timer)e.getSource()).stop(); execLogic(); }
-        });
-        t.start();
+        // Roll 500 ms, muka dadu ganti tiap 50 ms
+        final int[] face = {0};
+        timeline.then(ROLL_MS, null, t -> {
+            int f = (int) (t * 10);
+            if(f != face[0]) { face[0] = f; diceImageLabel.setIcon(diceAtlas.get(cosmetic.nextInt(6)+1, Color.LIGHT_GRAY)); }
+        }, this::awaitRoll);
+    }
+
+    // Dadu server belum datang setelah animasi roll: tunggu tanpa blok EDT (dibatasi timeout Client)
+    private void awaitRoll() {
+        if(pendingRoll == null || pendingRoll.isDone()) { execLogic(); return; }
+        int token = botTurn; // restart / undo selama menunggu -> hasil dibuang
+        java.util.concurrent.CompletableFuture<GameServer.Client> f = pendingRoll;
+        f.whenComplete((c, e) -> SwingUtilities.invokeLater(() -> {
+            if(token == botTurn) execLogic();
+            else if(pendingRoll == f) pendingRoll = null;
+        }));
     }
 
     private void execLogic() {
         int pid = turnQueue.pollFirst();
-        Stack<Integer> stk = allPlayerStacks.get(pid-1);
-        int cur = stk.peek();
-        boolean prime = isPrime(cur);
-        boolean green = random.nextDouble() < 0.7; // 70% Green
+        int cur = positions[pid-1];
+        boolean prime = board.isPrime(cur);
+        boolean green = random.nextDouble() < GameEngine.Rules.DEFAULT.greenChance; // 70% Green
         int val = random.nextInt(6)+1;
+        if(replay != null && (replay.pid(replayIndex) != pid || replay.green(replayIndex) != green || replay.val(replayIndex) != val)) {
+            // Dadu dari journal tetap dipakai, tapi sesi sudah tidak bisa dipercaya lagi
+            log("-- Journal beda dengan seed di record " + (replayIndex + 1));
+            green = replay.green(replayIndex); val = replay.val(replayIndex);
+        }
+        if(pendingRoll != null) {
+            try {
+                GameServer.Client c = pendingRoll.getNow(null); // sudah selesai (awaitRoll)
+                if(c.pid != pid || c.green != green || c.val != val) log("-- Dadu server beda dengan seed lokal");
+                green = c.green; val = c.val; // server yang menentukan
+            } catch (java.util.concurrent.CompletionException e) {
+                remoteFailed(remote, e.getCause());
+            }
+            pendingRoll = null;
+        }
         int step = green ? val : -val;
 
         Color dc = green ? UITheme.BUTTON_GREEN : UITheme.BUTTON_RED;
-        diceImageLabel.setIcon(createDiceImage(val, 100, dc));
+        diceImageLabel.setIcon(diceAtlas.get(val, dc));
         diceTextLabel.setText((green?"MAJU":"MUNDUR") + " " + val + " Langkah");
         diceTextLabel.setForeground(green ? Color.GREEN : Color.RED);
 
@@ -560,91 +1550,94 @@ public class SnakeDijkstraGUI extends JFrame {
         if(green) {
             for(int i=0; i<path.size(); i++) {
                 int n = path.get(i);
-                if(shortcuts.containsKey(n) && prime && val > (n-cur)) {
-                    linkTarget = shortcuts.get(n); path = path.subList(0, i+1); break;
+                if(board.getShortcut(n)!=0 && prime && val > (n-cur)) {
+                    linkTarget = board.getShortcut(n); path = path.subList(0, i+1); break;
                 }
             }
         }
 
-        final List<Integer> finalPath = path;
-        final int finalLink = linkTarget;
-
-        animSeq(pid, cur, finalPath, 0, () -> {
-            int end = finalPath.isEmpty() ? cur : finalPath.get(finalPath.size()-1);
-            String log = playerNames[pid-1] + ": " + cur + " -> " + end;
-            if(finalLink != -1) {
+        // Seluruh gerakan (hop per langkah + lompatan shortcut) jadi satu timeline
+        int end = path.isEmpty() ? cur : path.get(path.size()-1);
+        recordTurn(pid, green, val, end, linkTarget);
+        String log = playerNames[pid-1] + ": " + cur + " -> " + end;
+        int prev = cur;
+        for(int next : path) { queueHop(pid, prev, next); prev = next; }
+        if(linkTarget != -1) {
+            final int link = linkTarget;
+            String linkLog = log + " (LINK -> "+link+")";
+            timeline.call(() -> {
                 SoundManager.play("magic.wav");
-                log += " (LINK -> "+finalLink+")";
-                showStyledInfoDialog("PRIME OVERFLOW!", "Shortest Path Activated!", false);
-                String finalLog = log;
-                javax.swing.Timer d = new javax.swing.Timer(500, ev -> {
-                    ((javax.swing.Timer)ev.getSource()).stop();
-                    animMove(pid, end, finalLink, () -> finalizeTurn(pid, finalLink, stk, finalLog));
-                });
-                d.setRepeats(false); d.start();
-            } else {
-                finalizeTurn(pid, end, stk, log);
-            }
-        });
+                if(replay == null) showStyledInfoDialog("PRIME OVERFLOW!", "Shortest Path Activated!", false);
+            }).delay(SHORTCUT_DELAY_MS);
+            queueHop(pid, end, link);
+            timeline.call(() -> finalizeTurn(pid, link, linkLog));
+        } else {
+            timeline.call(() -> finalizeTurn(pid, end, log));
+        }
     }
 
-    private void animSeq(int pid, int cur, List<Integer> path, int idx, Runnable done) {
-        if(idx>=path.size()) { done.run(); return; }
-        int next = path.get(idx);
-        animMove(pid, cur, next, () -> animSeq(pid, next, path, idx+1, done));
-    }
-
-    private void animMove(int pid, int s, int e, Runnable done) {
-        if(s==e) { done.run(); return; }
-        SoundManager.play("step.wav");
-        GradientPanel ps = panelMap.get(s), pe = panelMap.get(e);
-        if(ps==null || pe==null) { done.run(); return; }
-        ps.removePlayer(pid);
-        Point p1 = SwingUtilities.convertPoint(ps, ps.getWidth()/2, ps.getHeight()/2, animationPanel);
-        Point p2 = SwingUtilities.convertPoint(pe, pe.getWidth()/2, pe.getHeight()/2, animationPanel);
-
-        final int frames = 30;
-        javax.swing.Timer t = new javax.swing.Timer(10, null);
-        t.addActionListener(new ActionListener() {
-            int f = 0;
-            public void actionPerformed(ActionEvent ev) {
-                f++; float r = (float)f/frames; r = r*r*(3-2*r);
-                int x = (int)(p1.x + (p2.x-p1.x)*r);
-                int y = (int)(p1.y + (p2.y-p1.y)*r);
-                animationPanel.updatePawn(pid, x, y);
-                if(f>=frames) { ((javax.swing.Timer)ev.getSource()).stop(); pe.addPlayer(pid); animationPanel.stop(); done.run(); }
-            }
-        });
-        t.start();
+    // Satu record journal per turn; saat replay hanya maju ke record berikutnya
+    private void recordTurn(int pid, boolean green, int val, int end, int link) {
+        if(replay != null) { replayIndex++; return; }
+        if(journal == null) return;
+        int fin = link != -1 ? link : end;
+        try { journal.append(pid, green, val, end, link != -1, board.getPoint(fin), fin != board.getFinish() && GameEngine.Rules.DEFAULT.isDoubleTurn(fin)); }
+        catch (IOException e) { journalFailed(e); }
+    }
+
+    private void queueHop(int pid, int s, int e) {
+        if(s==e || s<1 || e<1 || s>board.tiles || e>board.tiles) return;
+        Point[] pts = new Point[2];
+        timeline.then(HOP_MS, () -> {
+            SoundManager.play("step.wav");
+            showPawn(pid, 0); // pawn terbang digambar AnimationPanel
+            pts[0] = tileCenter(s, animationPanel); pts[1] = tileCenter(e, animationPanel);
+        }, r -> animationPanel.updatePawn(pid, (int)(pts[0].x + (pts[1].x-pts[0].x)*r), (int)(pts[0].y + (pts[1].y-pts[0].y)*r)),
+        () -> { showPawn(pid, e); animationPanel.stop(); });
     }
 
-    private void finalizeTurn(int pid, int pos, Stack<Integer> stk, String log) {
-        animationPanel.stop(); stk.push(pos);
-        int pts = getPointOfNode(pos);
+    private void finalizeTurn(int pid, int pos, String log) {
+        GameMetrics.get().record(GameMetrics.TURN, System.nanoTime() - turnStartNs);
+        animationPanel.stop(); positions[pid-1] = pos;
+        int pts = board.getPoint(pos);
         playerScores[pid-1] += pts;
         log += " [+" + pts + " pts]";
-        historyArea.append(log+"\n");
+        log(log);
         scoreboardPanel.updateScores(playerScores);
         updateGraphics();
 
-        if(pos==64) {
-            highScoreManager.saveScore(playerNames[pid-1], playerScores[pid-1]);
+        if(pos==board.getFinish()) {
+            if(replay != null) {
+                log(playerNames[pid-1] + " Finished!");
+                timeline.delay(REPLAY_GAP_MS).call(this::replayNext); return;
+            }
+            if(journal != null) try { journal.flush(); } catch (IOException e) { journalFailed(e); }
+            if(!bots[pid-1]) {
+                long t0 = System.nanoTime();
+                highScoreManager.saveScore(playerNames[pid-1], playerScores[pid-1]);
+                GameMetrics.get().record("io.saveScore", System.nanoTime() - t0);
+            }
             showCustomGameOverDialog(pid); return;
         }
 
-        if(pos%5==0 && pos!=1) {
-            showStyledInfoDialog("DOUBLE TURN!", "Kelipatan 5 detected.", false);
+        if(GameEngine.Rules.DEFAULT.isDoubleTurn(pos)) {
+            if(replay == null) showStyledInfoDialog("DOUBLE TURN!", "Kelipatan 5 detected.", false);
             turnQueue.addFirst(pid);
         } else {
             turnQueue.addLast(pid);
         }
 
-        int next = turnQueue.peekFirst();
-        statusLabel.setText(playerNames[next-1].toUpperCase() + " TURN");
-        statusLabel.setForeground(playerTextColors[(next-1)%playerTextColors.length]);
-        scoreboardPanel.highlight(next);
+        history.push(positions, playerScores, queueOrder());
+        showTurn(turnQueue.peekFirst());
 
+        if(replay != null) { timeline.delay(REPLAY_GAP_MS).call(this::replayNext); return; }
         inputEnabled = true; // Re-enable input
+        startBotTurn();
+    }
+
+    private void log(String line) {
+        gameLog.add(line);
+        logList.ensureIndexIsVisible(gameLog.getSize() - 1);
     }
 
     private void showStyledInfoDialog(String title, String msg, boolean warn) {
@@ -652,8 +1645,8 @@ public class SnakeDijkstraGUI extends JFrame {
         JPanel p = new JPanel(); p.setLayout(new BoxLayout(p, BoxLayout.Y_AXIS));
         p.setBackground(UITheme.BG_DARK);
         p.setBorder(new CompoundBorder(new LineBorder(warn?UITheme.BUTTON_RED:UITheme.ACCENT, 2), new EmptyBorder(20,20,20,20)));
-        JLabel t = new JLabel(title); t.setFont(AppFonts.BOLD.deriveFont(20f)); t.setForeground(warn?UITheme.BUTTON_RED:UITheme.ACCENT); t.setAlignmentX(CENTER_ALIGNMENT);
-        JLabel m = new JLabel("<html><center>"+msg+"</center></html>"); m.setFont(AppFonts.REGULAR.deriveFont(14f)); m.setForeground(UITheme.TEXT_MAIN); m.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel t = new JLabel(title); t.setFont(TextCache.font(AppFonts.BOLD, 20f)); t.setForeground(warn?UITheme.BUTTON_RED:UITheme.ACCENT); t.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel m = new JLabel("<html><center>"+msg+"</center></html>"); m.setFont(TextCache.font(AppFonts.REGULAR, 14f)); m.setForeground(UITheme.TEXT_MAIN); m.setAlignmentX(CENTER_ALIGNMENT);
         JButton b = styleButton("OK", UITheme.BUTTON_BLUE, Color.BLACK); b.setAlignmentX(CENTER_ALIGNMENT); b.addActionListener(e->d.dispose());
         p.add(t); p.add(Box.createRigidArea(new Dimension(0,15))); p.add(m); p.add(Box.createRigidArea(new Dimension(0,20))); p.add(b);
         d.add(p); d.pack(); d.setLocationRelativeTo(this); d.setVisible(true);
@@ -663,12 +1656,26 @@ public class SnakeDijkstraGUI extends JFrame {
         JDialog d = new JDialog(this, true); d.setUndecorated(true); d.setBackground(new Color(0,0,0,0));
         JPanel p = new JPanel(new GridLayout(0,1,10,10)); p.setBackground(UITheme.BG_DARK);
         p.setBorder(new CompoundBorder(new LineBorder(UITheme.BUTTON_GREEN, 2), new EmptyBorder(20,40,20,40)));
-        JLabel l = new JLabel("Pilih Jumlah Pemain"); l.setFont(AppFonts.BOLD.deriveFont(18f)); l.setForeground(Color.WHITE); l.setHorizontalAlignment(SwingConstants.CENTER);
+        JLabel l = new JLabel("Pilih Jumlah Pemain"); l.setFont(TextCache.font(AppFonts.BOLD, 18f)); l.setForeground(Color.WHITE); l.setHorizontalAlignment(SwingConstants.CENTER);
         p.add(l);
+        JCheckBox cb = new JCheckBox("Lawan Komputer", withBots); cb.setOpaque(false); cb.setForeground(UITheme.TEXT_MAIN);
+        cb.setFont(TextCache.font(AppFonts.REGULAR, 14f)); cb.setHorizontalAlignment(SwingConstants.CENTER); cb.setFocusable(false);
         for(int i=2; i<=4; i++) {
             int c = i; JButton b = styleButton(i+" Players", UITheme.BG_PANEL, Color.WHITE);
-            b.addActionListener(e->{ d.dispose(); onSel.accept(c); }); p.add(b);
+            b.addActionListener(e->{ d.dispose(); withBots = cb.isSelected(); onSel.accept(c); }); p.add(b);
         }
+        JButton more = styleButton("5-" + MAX_PLAYERS + " Players", UITheme.BG_PANEL, Color.WHITE);
+        more.addActionListener(e->{
+            String in = (String) JOptionPane.showInputDialog(d, "Jumlah pemain (5-" + MAX_PLAYERS + ")", "Players",
+                    JOptionPane.PLAIN_MESSAGE, null, null, "8");
+            if(in == null) return;
+            try {
+                int c = Integer.parseInt(in.trim());
+                if(c < 2 || c > MAX_PLAYERS) return;
+                d.dispose(); withBots = cb.isSelected(); onSel.accept(c);
+            } catch (NumberFormatException ex) { /* input bukan angka: abaikan */ }
+        });
+        p.add(more); p.add(cb);
         d.add(p); d.pack(); d.setLocationRelativeTo(this); d.setVisible(true);
     }
 
@@ -676,7 +1683,7 @@ public class SnakeDijkstraGUI extends JFrame {
         JDialog d = new JDialog(this, true); d.setUndecorated(true); d.setBackground(new Color(0,0,0,0));
         JPanel c = new JPanel(); c.setLayout(new BoxLayout(c, BoxLayout.Y_AXIS)); c.setBackground(UITheme.BG_DARK);
         c.setBorder(new CompoundBorder(new LineBorder(UITheme.BUTTON_RED, 2), new EmptyBorder(20,20,20,20)));
-        JLabel l = new JLabel("Ulangi Permainan?"); l.setFont(AppFonts.BOLD.deriveFont(16f)); l.setForeground(Color.WHITE); l.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel l = new JLabel("Ulangi Permainan?"); l.setFont(TextCache.font(AppFonts.BOLD, 16f)); l.setForeground(Color.WHITE); l.setAlignmentX(CENTER_ALIGNMENT);
         JPanel bp = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 0)); bp.setOpaque(false);
         JButton by = styleButton("Ya", UITheme.BUTTON_GREEN, Color.BLACK); by.addActionListener(e->{d.dispose(); onYes.run();});
         JButton bn = styleButton("Batal", UITheme.BUTTON_RED, Color.BLACK); bn.addActionListener(e->d.dispose());
@@ -685,26 +1692,50 @@ public class SnakeDijkstraGUI extends JFrame {
         d.add(c); d.pack(); d.setLocationRelativeTo(this); d.setVisible(true);
     }
 
+    private void showLeaderboardDialog() {
+        JDialog d = new JDialog(this, true); d.setUndecorated(true); d.setBackground(new Color(0,0,0,0));
+        JPanel m = new JPanel(); m.setLayout(new BoxLayout(m, BoxLayout.Y_AXIS)); m.setBackground(UITheme.BG_DARK);
+        m.setBorder(new CompoundBorder(new LineBorder(UITheme.BUTTON_BLUE, 2), new EmptyBorder(20,30,20,30)));
+        JLabel t = new JLabel(leaderboardHtml("TOP 10", highScoreManager.top(10), null)); t.setAlignmentX(CENTER_ALIGNMENT);
+        JButton b = styleButton("OK", UITheme.BUTTON_BLUE, Color.BLACK); b.setAlignmentX(CENTER_ALIGNMENT); b.addActionListener(e->d.dispose());
+        m.add(t); m.add(Box.createRigidArea(new Dimension(0,20))); m.add(b);
+        d.add(m); d.pack(); d.setLocationRelativeTo(this); d.setVisible(true);
+    }
+
+    private String leaderboardHtml(String title, List<Leaderboard.Entry> rows, String highlight) {
+        StringBuilder ht = new StringBuilder("<html><div style='color:#FAB387; font-size:14px; font-weight:bold;'>").append(title).append("</div>");
+        ht.append("<table style='width:300px; border-collapse:collapse;'>");
+        if(rows.isEmpty()) ht.append("<tr><td style='color:#A6ADC8;'>Belum ada skor</td></tr>");
+        for(Leaderboard.Entry e : rows) {
+            String cl = highlight != null && e.name.equals(highlight.toLowerCase()) ? "#A6E3A1" : "#CDD6F4";
+            ht.append(String.format("<tr><td style='padding:3px; color:%s;'>#%d %s</td><td style='text-align:right; color:%s; font-weight:bold;'>%d pts</td></tr>", cl, e.rank, e.name, cl, e.score));
+        }
+        return ht.append("</table></html>").toString();
+    }
+
     private void showCustomGameOverDialog(int fin) {
         SoundManager.play("hidup-jokowi.wav");
         JDialog d = new JDialog(this, true); d.setUndecorated(true); d.setBackground(new Color(0,0,0,0));
         JPanel m = new JPanel(); m.setLayout(new BoxLayout(m, BoxLayout.Y_AXIS)); m.setBackground(UITheme.BG_DARK);
         m.setBorder(new CompoundBorder(new LineBorder(UITheme.ACCENT, 2), new EmptyBorder(20,30,20,30)));
-        JLabel h = new JLabel("GAME OVER!"); h.setFont(AppFonts.BOLD.deriveFont(32f)); h.setForeground(UITheme.BUTTON_RED); h.setAlignmentX(CENTER_ALIGNMENT);
-        JLabel s = new JLabel(playerNames[fin-1] + " Finished!"); s.setFont(AppFonts.REGULAR.deriveFont(16f)); s.setForeground(UITheme.TEXT_MAIN); s.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel h = new JLabel("GAME OVER!"); h.setFont(TextCache.font(AppFonts.BOLD, 32f)); h.setForeground(UITheme.BUTTON_RED); h.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel s = new JLabel(playerNames[fin-1] + " Finished!"); s.setFont(TextCache.font(AppFonts.REGULAR, 16f)); s.setForeground(UITheme.TEXT_MAIN); s.setAlignmentX(CENTER_ALIGNMENT);
 
         List<Integer> rk = new ArrayList<>(); for(int i=0; i<playerCount; i++) rk.add(i+1);
         rk.sort((p1,p2)->Integer.compare(playerScores[p2-1], playerScores[p1-1]));
 
         StringBuilder ht = new StringBuilder("<html><table style='width:300px; border-collapse:collapse;'>");
-        for(int i=0; i<rk.size(); i++) {
+        for(int i=0; i<Math.min(rk.size(), 10); i++) {
             int pid = rk.get(i), sc = playerScores[pid-1];
             String name = playerNames[pid-1];
             String cl = (i==0)?"#A6E3A1":"#CDD6F4", md=(i==0)?"🏆":"";
             ht.append(String.format("<tr><td style='padding:5px; color:%s; font-size:14px;'>#%d %s</td><td style='text-align:right; color:%s; font-weight:bold;'>%d pts %s</td></tr>", cl, i+1, name, cl, sc, md));
         }
+        if(rk.size() > 10) ht.append("<tr><td style='color:#A6ADC8;'>+").append(rk.size() - 10).append(" pemain lain</td></tr>");
         ht.append("</table></html>");
         JLabel tbl = new JLabel(ht.toString()); tbl.setAlignmentX(CENTER_ALIGNMENT);
+        JLabel glb = new JLabel(leaderboardHtml("GLOBAL RANK", highScoreManager.around(playerNames[fin-1], 2), playerNames[fin-1]));
+        glb.setAlignmentX(CENTER_ALIGNMENT);
 
         JPanel bp = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 0)); bp.setOpaque(false);
         JButton br = styleButton("Main Lagi", UITheme.BUTTON_GREEN, Color.BLACK); br.setPreferredSize(new Dimension(100,35));
@@ -714,43 +1745,64 @@ public class SnakeDijkstraGUI extends JFrame {
         bp.add(br); bp.add(be);
 
         m.add(h); m.add(Box.createRigidArea(new Dimension(0,10))); m.add(s); m.add(Box.createRigidArea(new Dimension(0,20)));
-        m.add(tbl); m.add(Box.createRigidArea(new Dimension(0,25))); m.add(bp);
+        m.add(tbl); m.add(Box.createRigidArea(new Dimension(0,15))); m.add(glb);
+        m.add(Box.createRigidArea(new Dimension(0,25))); m.add(bp);
         d.add(m); d.pack(); d.setLocationRelativeTo(this); d.setVisible(true);
     }
 
-    private boolean isPrime(int n) { if(n<=1)return false; for(int i=2; i*i<=n; i++) if(n%i==0) return false; return true; }
-    private int getPointOfNode(int id) { for(int r=0; r<SIZE; r++) for(int c=0; c<SIZE; c++) if(logicBoard[r][c].id==id) return logicBoard[r][c].pointValue; return 0; }
-
-    // LOGIC BARU: NO BOUNCE
+    // LOGIC BARU: NO BOUNCE (aturan di GameEngine.genPath)
     private List<Integer> genPath(int s, int st) {
-        List<Integer> p = new ArrayList<>(); int c = s, m = Math.abs(st), d = st>0?1:-1;
-        for(int i=0; i<m; i++) {
-            if(c == 64) break; // Finish Condition (Stop at 64)
-            if(c == 1 && d == -1) {} else c += d;
-            p.add(c);
-        }
+        int n = GameEngine.genPath(s, st, board.getFinish(), pathBuf);
+        List<Integer> p = new ArrayList<>(n);
+        for(int i=0; i<n; i++) p.add(pathBuf[i]);
         return p;
     }
 
+    // Samakan pawn yang tergambar dengan positions: hanya pawn yang pindah yang di-repaint (O(players))
     private void updateGraphics() {
-        for(GradientPanel p : panelMap.values()) p.setPlayersHere(new ArrayList<>());
-        Map<Integer, List<Integer>> pos = new HashMap<>();
-        for(int i=0; i<playerCount; i++) {
-            int pid = i+1, loc = allPlayerStacks.get(i).peek();
-            pos.putIfAbsent(loc, new ArrayList<>()); pos.get(loc).add(pid);
+        if(pawnAt.length != playerCount) {
+            for(int pid=1; pid<=pawnAt.length; pid++) showPawn(pid, 0); // jumlah pemain berubah: bersihkan pawn lama
+            pawnAt = new int[playerCount];
         }
-        for(Map.Entry<Integer, List<Integer>> e : pos.entrySet()) if(panelMap.containsKey(e.getKey())) panelMap.get(e.getKey()).setPlayersHere(e.getValue());
+        for(int pid=1; pid<=playerCount; pid++) showPawn(pid, positions[pid-1]);
+    }
+
+    // Gambar pawn pid di tile (0 = sembunyikan). Diff: tile asal & tujuan saja yang di-repaint.
+    private void showPawn(int pid, int tile) {
+        int from = pawnAt[pid-1];
+        if(from == tile) return;
+        long bit = 1L << (pid-1);
+        if(from != 0) { occupancy[from] &= ~bit; repaintTile(from); }
+        if(tile != 0) { occupancy[tile] |= bit; repaintTile(tile); }
+        pawnAt[pid-1] = tile;
+    }
+
+    private void repaintTile(int id) {
+        if(boardCanvas != null) boardCanvas.repaint(boardCanvas.tileBounds(id));
+        else panelMap.get(id).setPlayers(occupancy[id]);
+    }
+    private Point tileCenter(int id, Component target) {
+        if(boardCanvas != null) {
+            Rectangle b = boardCanvas.tileBounds(id);
+            return SwingUtilities.convertPoint(boardCanvas, b.x+b.width/2, b.y+b.height/2, target);
+        }
+        GradientPanel p = panelMap.get(id);
+        return SwingUtilities.convertPoint(p, p.getWidth()/2, p.getHeight()/2, target);
     }
 
     private JButton styleButton(String t, Color bg, Color fg) {
-        JButton b = new JButton(t); b.setFont(AppFonts.BOLD.deriveFont(18f)); b.setBackground(bg); b.setForeground(fg);
+        JButton b = new JButton(t); b.setFont(TextCache.font(AppFonts.BOLD, 18f)); b.setBackground(bg); b.setForeground(fg);
         b.setFocusPainted(false); b.setBorderPainted(false); b.setCursor(new Cursor(Cursor.HAND_CURSOR));
         b.setContentAreaFilled(false); b.setOpaque(true);
         b.addMouseListener(new MouseAdapter() { public void mouseEntered(MouseEvent e){b.setBackground(bg.brighter());} public void mouseExited(MouseEvent e){b.setBackground(bg);} });
         return b;
     }
-    private ImageIcon createDiceImage(int v, int s, Color c) {
+    private static ImageIcon createDiceImage(int v, int s, Color c) {
         BufferedImage i = new BufferedImage(s,s,2); Graphics2D g = i.createGraphics();
+        paintDice(g, v, s, c);
+        g.dispose(); return new ImageIcon(i);
+    }
+    private static void paintDice(Graphics2D g, int v, int s, Color c) {
         g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g.setColor(new Color(0,0,0,50)); g.fillRoundRect(4,4,s-4,s-4,20,20);
         g.setColor(Color.WHITE); g.fillRoundRect(0,0,s-4,s-4,20,20);
@@ -760,11 +1812,12 @@ public class SnakeDijkstraGUI extends JFrame {
         if(v>=2){ g.fillOval(l-ds/2, l-ds/2, ds, ds); g.fillOval(r-ds/2, r-ds/2, ds, ds); }
         if(v>=4){ g.fillOval(r-ds/2, l-ds/2, ds, ds); g.fillOval(l-ds/2, r-ds/2, ds, ds); }
         if(v==6){ g.fillOval(l-ds/2, m-ds/2, ds, ds); g.fillOval(r-ds/2, m-ds/2, ds, ds); }
-        g.dispose(); return new ImageIcon(i);
     }
 
     public static void main(String[] args) {
         try { UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()); } catch(Exception e){}
-        SwingUtilities.invokeLater(() -> new SnakeDijkstraGUI().setVisible(true));
+        // Ukuran board: java SnakeDijkstraGUI [size] atau -Dsnake.boardSize=N (default 8)
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("snake.boardSize", BoardModel.DEFAULT_SIZE);
+        SwingUtilities.invokeLater(() -> new SnakeDijkstraGUI(size).setVisible(true));
     }
 }
\ No newline at end of file
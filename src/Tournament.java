@@ -0,0 +1,259 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// ==========================================
+// HEADLESS TOURNAMENT (RULE VARIANTS)
+// Entrant E1..En main per match dengan P kursi; kursi dirotasi tiap game supaya adil antar entrant.
+// roundrobin: semua kombinasi P entrant. bracket: grup P entrant per match (best of N), juara grup lanjut.
+// Match jalan paralel (common pool), satu GameEngine per match. Setiap game = satu baris CSV;
+// baris di-buffer per match lalu di-append lewat satu FileChannel + ByteBuffer.
+// Usage: java Tournament roundrobin|bracket [entrants] [players] [games] [boardSize] [seed]
+//                        [green] [double] [prime|any|none] [out.csv]
+// ==========================================
+public class Tournament {
+    private static final int FLUSH_CHARS = 32 * 1024, MAX_MATCHES = 1_000_000;
+
+    public final boolean bracket;
+    public final int entrants, players, games, boardSize;
+    public final long seed;
+    public final GameEngine.Rules rules;
+
+    public Tournament(boolean bracket, int entrants, int players, int games, int boardSize, long seed, GameEngine.Rules rules) {
+        if(players < 2 || players > entrants) throw new IllegalArgumentException("players must be in [2, entrants]: " + players);
+        if(games < 1) throw new IllegalArgumentException("games must be >= 1: " + games);
+        this.bracket = bracket; this.entrants = entrants; this.players = players; this.games = games;
+        this.boardSize = boardSize; this.seed = seed; this.rules = rules;
+    }
+
+    // Satu match: entrant per kursi pada game pertama (index entrant 0..n-1)
+    private static class Match {
+        final int id, round; final int[] entrants;
+        Match(int id, int round, int[] entrants) { this.id = id; this.round = round; this.entrants = entrants; }
+    }
+
+    // Hasil match; seat* hanya diisi untuk match dengan P kursi penuh (supaya statistik kursi sebanding)
+    public static class Stats {
+        public long games, unfinished, turns, shortcuts, doubleTurns;
+        public final long[] seatWins, seatScore, seatGames, entrantWins, entrantGames;
+        int winner = -1; // bracket: entrant pemenang match
+
+        Stats(int players, int entrants) {
+            seatWins = new long[players]; seatScore = new long[players]; seatGames = new long[players];
+            entrantWins = new long[entrants]; entrantGames = new long[entrants];
+        }
+
+        void merge(Stats o) {
+            games += o.games; unfinished += o.unfinished; turns += o.turns; shortcuts += o.shortcuts; doubleTurns += o.doubleTurns;
+            for(int i=0; i<seatWins.length; i++) { seatWins[i] += o.seatWins[i]; seatScore[i] += o.seatScore[i]; seatGames[i] += o.seatGames[i]; }
+            for(int i=0; i<entrantWins.length; i++) { entrantWins[i] += o.entrantWins[i]; entrantGames[i] += o.entrantGames[i]; }
+        }
+    }
+
+    // ==========================================
+    // CSV SINK (BUFFERED NIO, APPEND PER CHUNK)
+    // ==========================================
+    public static class CsvSink implements Closeable {
+        private final FileChannel out;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(256 * 1024);
+        private long rows, bytes;
+
+        public CsvSink(Path file, int players) throws IOException {
+            if(file.getParent() != null) Files.createDirectories(file.getParent());
+            out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            StringBuilder h = new StringBuilder("match,round,game,seats,turns,shortcuts,double_turns,winner_seat,winner_entrant");
+            for(int s=1; s<=players; s++) h.append(",entrant_").append(s).append(",score_").append(s);
+            write(h.append('\n'), 0);
+        }
+
+        // Baris CSV hanya ASCII -> 1 char = 1 byte
+        public synchronized void write(CharSequence chunk, int rowCount) throws IOException {
+            for(int i=0, n=chunk.length(); i<n; i++) {
+                if(!buf.hasRemaining()) drain();
+                buf.put((byte) chunk.charAt(i));
+            }
+            rows += rowCount; bytes += chunk.length();
+        }
+
+        public synchronized long rows() { return rows; }
+        public synchronized long bytes() { return bytes; }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while(buf.hasRemaining()) out.write(buf);
+            buf.clear();
+        }
+
+        @Override public synchronized void close() throws IOException {
+            try { drain(); out.force(false); } finally { out.close(); }
+        }
+    }
+
+    // ==========================================
+    // MATCHES
+    // ==========================================
+    private Stats play(Match m, CsvSink sink) {
+        int p = m.entrants.length;
+        Stats s = new Stats(players, entrants);
+        if(p < 2) { s.winner = m.entrants[0]; return s; } // bye
+        GameEngine g = new GameEngine(new BoardModel(boardSize), p, MonteCarloSimulator.mix(seed, m.id), rules);
+        long[] wins = new long[p], score = new long[p]; // per index entrant di match
+        StringBuilder rows = new StringBuilder(FLUSH_CHARS + 512);
+        int pending = 0;
+        for(int i=0; i<games; i++) {
+            if(i > 0) { g.newBoard(); g.reset(); }
+            int w = g.playGame(MonteCarloSimulator.MAX_TURNS);
+            s.games++; s.turns += g.turns; s.shortcuts += g.shortcutsTaken; s.doubleTurns += g.doubleTurns;
+            if(w == 0) s.unfinished++;
+            // Kursi k (pid k+1) diisi entrant m.entrants[(k + i) % p]
+            int winner = w == 0 ? -1 : m.entrants[(w - 1 + i) % p];
+            rows.append(m.id).append(',').append(m.round).append(',').append(i).append(',').append(p).append(',')
+                .append(g.turns).append(',').append(g.shortcutsTaken).append(',').append(g.doubleTurns).append(',')
+                .append(w);
+            rows.append(',');
+            if(winner >= 0) rows.append('E').append(winner + 1);
+            for(int k=0; k<players; k++) {
+                rows.append(',');
+                if(k >= p) { rows.append(','); continue; }
+                int e = (k + i) % p, sc = g.getScore(k + 1);
+                rows.append('E').append(m.entrants[e] + 1).append(',').append(sc);
+                score[e] += sc;
+                s.entrantGames[m.entrants[e]]++;
+                if(p == players) { s.seatGames[k]++; s.seatScore[k] += sc; }
+            }
+            rows.append('\n'); pending++;
+            if(w != 0) {
+                wins[(w - 1 + i) % p]++; s.entrantWins[winner]++;
+                if(p == players) s.seatWins[w - 1]++;
+            }
+            if(rows.length() >= FLUSH_CHARS) { flush(sink, rows, pending); pending = 0; }
+        }
+        flush(sink, rows, pending);
+        // Pemenang match: menang terbanyak, lalu total skor, lalu entrant terkecil
+        int best = 0;
+        for(int e=1; e<p; e++) if(wins[e] > wins[best] || (wins[e] == wins[best] && score[e] > score[best])) best = e;
+        s.winner = m.entrants[best];
+        return s;
+    }
+
+    private static void flush(CsvSink sink, StringBuilder rows, int count) {
+        if(sink == null || rows.length() == 0) { rows.setLength(0); return; }
+        try { sink.write(rows, count); } catch (IOException e) { throw new java.io.UncheckedIOException(e); }
+        rows.setLength(0);
+    }
+
+    public Stats run(CsvSink sink) {
+        Stats total = new Stats(players, entrants);
+        if(!bracket) {
+            List<Match> ms = roundRobin();
+            for(Stats s : ms.parallelStream().map(m -> play(m, sink)).collect(Collectors.toList())) total.merge(s);
+            return total;
+        }
+        List<Integer> alive = new ArrayList<>();
+        for(int e=0; e<entrants; e++) alive.add(e);
+        int id = 0;
+        for(int round=1; alive.size() > 1; round++) {
+            List<Match> ms = new ArrayList<>();
+            for(int i=0; i<alive.size(); i+=players) {
+                int[] group = alive.subList(i, Math.min(alive.size(), i + players)).stream().mapToInt(Integer::intValue).toArray();
+                ms.add(new Match(id++, round, group));
+            }
+            alive.clear();
+            for(Stats s : ms.parallelStream().map(m -> play(m, sink)).collect(Collectors.toList())) { total.merge(s); alive.add(s.winner); }
+        }
+        total.winner = alive.get(0);
+        return total;
+    }
+
+    // Semua kombinasi P entrant (urutan leksikografis)
+    private List<Match> roundRobin() {
+        List<Match> ms = new ArrayList<>();
+        int[] c = new int[players];
+        for(int i=0; i<players; i++) c[i] = i;
+        while(true) {
+            if(ms.size() >= MAX_MATCHES) throw new IllegalArgumentException("Too many round-robin matches (> " + MAX_MATCHES + ")");
+            ms.add(new Match(ms.size(), 1, c.clone()));
+            int i = players - 1;
+            while(i >= 0 && c[i] == entrants - players + i) i--;
+            if(i < 0) return ms;
+            c[i]++;
+            for(int j=i+1; j<players; j++) c[j] = c[j-1] + 1;
+        }
+    }
+
+    // ==========================================
+    // SEAT FAIRNESS
+    // ==========================================
+    // Chi-square kemenangan per kursi vs uniform (hanya game selesai dengan P kursi penuh)
+    public static double chiSquare(long[] seatWins) {
+        long n = 0;
+        for(long w : seatWins) n += w;
+        if(n == 0) return 0;
+        double exp = (double) n / seatWins.length, chi = 0;
+        for(long w : seatWins) chi += (w - exp) * (w - exp) / exp;
+        return chi;
+    }
+
+    // Nilai kritis chi-square 5% (aproksimasi Wilson-Hilferty untuk df > 1)
+    public static double chiSquareCritical(int df) {
+        double k = 2.0 / (9 * df), z = 1.6448536269514722;
+        if(df == 1) return 3.841458820694124; // eksak (1.96^2)
+        return df * Math.pow(1 - k + z * Math.sqrt(k), 3);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if(args.length < 1 || !(args[0].equals("roundrobin") || args[0].equals("bracket"))) {
+            System.out.println("Usage: java Tournament roundrobin|bracket [entrants] [players] [games] [boardSize] [seed] [green] [double] [prime|any|none] [out.csv]");
+            return;
+        }
+        boolean bracket = args[0].equals("bracket");
+        int entrants = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        int boardSize = args.length > 4 ? Integer.parseInt(args[4]) : BoardModel.DEFAULT_SIZE;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        double green = args.length > 6 ? Double.parseDouble(args[6]) : GameEngine.Rules.DEFAULT.greenChance;
+        int dbl = args.length > 7 ? Integer.parseInt(args[7]) : GameEngine.Rules.DEFAULT.doubleTurn;
+        GameEngine.Rules.Shortcut sc = args.length > 8 ? GameEngine.Rules.Shortcut.valueOf(args[8].toUpperCase()) : GameEngine.Rules.Shortcut.PRIME;
+        Path out = Paths.get(args.length > 9 ? args[9] : "tournament_" + seed + ".csv");
+
+        Tournament t = new Tournament(bracket, entrants, players, games, boardSize, seed, new GameEngine.Rules(green, dbl, sc));
+        long t0 = System.nanoTime();
+        Stats s;
+        long rows, bytes;
+        try (CsvSink sink = new CsvSink(out, players)) {
+            s = t.run(sink);
+            rows = sink.rows(); bytes = sink.bytes();
+        }
+        double sec = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("Tournament : %s, %d entrants, %d seats, %,d games/match (%dx%d, %s, seed %d)%n",
+            args[0], entrants, players, games, boardSize, boardSize, t.rules, seed);
+        System.out.printf("Games      : %,d (unfinished %,d) in %.2fs -> %,.0f games/s%n", s.games, s.unfinished, sec, s.games / sec);
+        System.out.printf("Per game   : %.2f turns, %.3f shortcuts, %.3f double turns%n",
+            (double) s.turns / s.games, (double) s.shortcuts / s.games, (double) s.doubleTurns / s.games);
+        long seated = 0;
+        for(long w : s.seatWins) seated += w;
+        if(seated > 0) {
+            System.out.println("Seat       : wins       rate     95% CI            avg score");
+            for(int k=0; k<players; k++) {
+                double p = (double) s.seatWins[k] / seated, ci = 1.96 * Math.sqrt(p * (1 - p) / seated);
+                System.out.printf("  S%-8d: %,-10d %5.2f%%  [%5.2f%%, %5.2f%%]  %.2f%n", k + 1, s.seatWins[k], 100 * p, 100 * (p - ci), 100 * (p + ci),
+                    s.seatGames[k] == 0 ? 0 : (double) s.seatScore[k] / s.seatGames[k]);
+            }
+            double chi = chiSquare(s.seatWins), crit = chiSquareCritical(players - 1);
+            System.out.printf("Fairness   : chi2 %.2f (df %d, 5%% critical %.2f) -> %s%n", chi, players - 1, crit,
+                chi > crit ? "seat bias" : "no significant seat bias");
+        }
+        System.out.print("Entrants   :");
+        for(int e=0; e<entrants; e++) if(s.entrantGames[e] > 0) System.out.printf(" E%d %.1f%%", e + 1, 100.0 * s.entrantWins[e] / s.entrantGames[e]);
+        System.out.println();
+        if(bracket) System.out.println("Champion   : E" + (s.winner + 1));
+        System.out.printf("CSV        : %s (%,d rows, %,d bytes)%n", out, rows, bytes);
+    }
+}
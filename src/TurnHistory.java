@@ -0,0 +1,51 @@
+// ==========================================
+// TURN HISTORY (PRIMITIVE, TURN-INDEXED)
+// Satu int[] bersama: baris t = state setelah t turn (baris 0 = awal game).
+// Per baris: posisi, skor, lalu urutan antrian semua pemain (stride 3 * players).
+// Rewind N turn = pindah ke baris turns-N -> O(players), tidak tergantung N.
+// ==========================================
+public class TurnHistory {
+    private final int players, stride;
+    private int[] data;
+    private int turns = -1; // baris terakhir, -1 = belum di-reset
+
+    public TurnHistory(int players) {
+        this.players = players; this.stride = players * 3;
+        data = new int[stride * 64];
+    }
+
+    public int getPlayerCount() { return players; }
+    public int turns() { return turns; }
+
+    // Mulai game baru dengan state awal sebagai baris 0
+    public void reset(int[] pos, int[] score, int[] queue) { turns = -1; push(pos, score, queue); }
+
+    // Simpan state setelah satu turn. queue = urutan pid giliran berikutnya (semua pemain).
+    public void push(int[] pos, int[] score, int[] queue) {
+        int at = (turns + 1) * stride;
+        if(at + stride > data.length) data = java.util.Arrays.copyOf(data, data.length * 2);
+        System.arraycopy(pos, 0, data, at, players);
+        System.arraycopy(score, 0, data, at + players, players);
+        System.arraycopy(queue, 0, data, at + 2 * players, players);
+        turns++;
+    }
+
+    // Buang n turn terakhir (dibatasi sampai baris 0). Return jumlah turn yang benar-benar dibuang.
+    public int rewind(int n) {
+        int k = Math.max(0, Math.min(n, turns));
+        turns -= k;
+        return k;
+    }
+
+    public int getPosition(int turn, int pid) { return data[turn * stride + pid - 1]; }
+    public int getScore(int turn, int pid) { return data[turn * stride + players + pid - 1]; }
+    public int getQueued(int turn, int i) { return data[turn * stride + 2 * players + i]; }
+
+    // Salin baris turn ke array caller
+    public void copy(int turn, int[] pos, int[] score, int[] queue) {
+        int at = turn * stride;
+        System.arraycopy(data, at, pos, 0, players);
+        System.arraycopy(data, at + players, score, 0, players);
+        System.arraycopy(data, at + 2 * players, queue, 0, players);
+    }
+}
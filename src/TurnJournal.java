@@ -0,0 +1,178 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+// ==========================================
+// TURN JOURNAL (BINARY, FIXED WIDTH)
+// Header 24 byte: [magic "SNTJ"][version][boardSize][players][seed long]
+// Record  8 byte: [pid u8][flags u8][dadu u8][points u8][path end i32]
+//                 pid 0 = kontrol: flags 0 = game baru, flags REWIND = mundur 'end' turn
+// Satu journal = satu sesi: semua game memakai satu SplittableRandom(seed) dengan urutan
+// yang sama seperti GameEngine (newBoard per game, lalu dadu per turn), jadi journal
+// bisa diverifikasi ulang tanpa menyimpan board.
+// Usage: java TurnJournal record <file> [boardSize] [players] [seed] [games]
+//        java TurnJournal verify <file>
+// ==========================================
+public class TurnJournal {
+    public static final String EXTENSION = ".sntj";
+    private static final int MAGIC = 0x534E544A; // "SNTJ"
+    private static final int VERSION = 1;
+    static final int HEADER = 24, RECORD = 8;
+
+    public static final int GREEN = 1, LINK = 2, DOUBLE = 4; // flags turn
+    public static final int REWIND = 8;                      // flags kontrol
+
+    // ==========================================
+    // WRITER
+    // ==========================================
+    public static class Writer implements Closeable {
+        private final FileChannel out;
+        private final ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+
+        public Writer(Path file, int boardSize, int players, long seed) throws IOException {
+            if(file.getParent() != null) Files.createDirectories(file.getParent());
+            out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(boardSize).putInt(players).putLong(seed);
+        }
+
+        // Marker game baru (newBoard + reset)
+        public void startGame() throws IOException { control(0, 0); }
+
+        // Undo n turn (RNG tidak ikut mundur)
+        public void rewind(int n) throws IOException { control(REWIND, n); }
+
+        private void control(int flags, int arg) throws IOException {
+            if(buf.remaining() < RECORD) drain();
+            buf.put((byte) 0).put((byte) flags).put((byte) 0).put((byte) 0).putInt(arg);
+        }
+
+        public void append(int pid, boolean green, int val, int end, boolean link, int pts, boolean dbl) throws IOException {
+            if(buf.remaining() < RECORD) drain();
+            buf.put((byte) pid).put((byte) ((green ? GREEN : 0) | (link ? LINK : 0) | (dbl ? DOUBLE : 0)))
+               .put((byte) val).put((byte) pts).putInt(end);
+        }
+
+        // Turn terakhir GameEngine
+        public void append(GameEngine g) throws IOException {
+            append(g.lastPid, g.lastGreen, g.lastVal, g.lastEnd, g.lastLink != -1, g.lastPts, g.lastDouble);
+        }
+
+        public void flush() throws IOException { drain(); out.force(false); }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while(buf.hasRemaining()) out.write(buf);
+            buf.clear();
+        }
+
+        @Override public void close() throws IOException {
+            try { flush(); } finally { out.close(); }
+        }
+    }
+
+    // ==========================================
+    // READER (random access per record)
+    // ==========================================
+    public static class Reader {
+        public final int boardSize, players;
+        public final long seed;
+        private final ByteBuffer data;
+        private final int turns;
+
+        public Reader(Path file) throws IOException {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            }
+            if(data.limit() < HEADER || data.getInt(0) != MAGIC) throw new IOException("Not a turn journal: " + file);
+            if(data.getInt(4) != VERSION) throw new IOException("Unsupported journal version " + data.getInt(4) + ": " + file);
+            boardSize = data.getInt(8); players = data.getInt(12); seed = data.getLong(16);
+            turns = (data.limit() - HEADER) / RECORD; // record terakhir yang sobek diabaikan
+        }
+
+        public int turns() { return turns; } // jumlah record, termasuk marker game
+        public boolean isGameStart(int i) { return pid(i) == 0 && flags(i) == 0; }
+        public boolean isRewind(int i) { return pid(i) == 0 && (flags(i) & REWIND) != 0; }
+
+        public boolean hasRewinds() {
+            for(int i=0; i<turns; i++) if(isRewind(i)) return true;
+            return false;
+        }
+        public int pid(int i) { return data.get(HEADER + i * RECORD) & 0xFF; }
+        public int flags(int i) { return data.get(HEADER + i * RECORD + 1) & 0xFF; }
+        public boolean green(int i) { return (flags(i) & GREEN) != 0; }
+        public boolean link(int i) { return (flags(i) & LINK) != 0; }
+        public boolean isDouble(int i) { return (flags(i) & DOUBLE) != 0; }
+        public int val(int i) { return data.get(HEADER + i * RECORD + 2) & 0xFF; }
+        public int pts(int i) { return data.get(HEADER + i * RECORD + 3) & 0xFF; }
+        public int end(int i) { return data.getInt(HEADER + i * RECORD + 4); }
+    }
+
+    // ==========================================
+    // HEADLESS REPLAY
+    // ==========================================
+    // Main ulang dari seed dan cocokkan setiap record. Return index turn pertama yang beda, -1 jika cocok semua.
+    public static int verify(Reader r) { return verify(r, newEngine(r)); }
+
+    public static GameEngine newEngine(Reader r) { return new GameEngine(new BoardModel(r.boardSize), r.players, r.seed); }
+
+    static int verify(Reader r, GameEngine g) {
+        if(r.hasRewinds()) g.enableHistory(); // snapshot per turn hanya jika dibutuhkan
+        int games = 0;
+        for(int i=0; i<r.turns(); i++) {
+            if(r.isGameStart(i)) {
+                if(games++ > 0) { g.newBoard(); g.reset(); } // game pertama sudah dibuat constructor
+                continue;
+            }
+            if(r.isRewind(i)) {
+                if(games == 0 || g.rewind(r.end(i)) != r.end(i)) return i;
+                continue;
+            }
+            if(games == 0 || g.winner != 0) return i; // turn di luar game
+            g.playTurn();
+            int flags = (g.lastGreen ? GREEN : 0) | (g.lastLink != -1 ? LINK : 0) | (g.lastDouble ? DOUBLE : 0);
+            if(g.lastPid != r.pid(i) || flags != r.flags(i) || g.lastVal != r.val(i) || g.lastPts != r.pts(i) || g.lastEnd != r.end(i)) return i;
+        }
+        return -1;
+    }
+
+    // Rekam sesi headless ke journal. Return total turn.
+    public static long record(Path file, int boardSize, int players, long seed, int games) throws IOException {
+        GameEngine g = new GameEngine(new BoardModel(boardSize), players, seed);
+        long turns = 0;
+        try (Writer w = new Writer(file, boardSize, players, seed)) {
+            for(int i=0; i<games; i++) {
+                if(i > 0) { g.newBoard(); g.reset(); }
+                w.startGame();
+                while(g.winner == 0 && g.turns < MonteCarloSimulator.MAX_TURNS) { g.playTurn(); w.append(g); }
+                turns += g.turns;
+            }
+        }
+        return turns;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2) { System.out.println("Usage: java TurnJournal record <file> [boardSize] [players] [seed] [games] | verify <file>"); return; }
+        Path file = Paths.get(args[1]);
+        if(args[0].equals("record")) {
+            int boardSize = args.length > 2 ? Integer.parseInt(args[2]) : BoardModel.DEFAULT_SIZE;
+            int players = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+            long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+            int games = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+            long turns = record(file, boardSize, players, seed, games);
+            System.out.printf("Recorded %,d games, %,d turns (%dx%d, %d players, seed %d) -> %s%n", games, turns, boardSize, boardSize, players, seed, file);
+            return;
+        }
+        Reader r = new Reader(file);
+        long t0 = System.nanoTime();
+        GameEngine g = newEngine(r);
+        long t1 = System.nanoTime();
+        int bad = verify(r, g);
+        double setup = (t1 - t0) / 1e9, sec = (System.nanoTime() - t1) / 1e9;
+        System.out.printf("Journal    : %,d records (%dx%d, %d players, seed %d)%n", r.turns(), r.boardSize, r.boardSize, r.players, r.seed);
+        System.out.println(bad == -1 ? "Result     : OK" : "Result     : MISMATCH at record " + (bad + 1));
+        System.out.printf("Time       : board %.3fs, replay %.3fs -> %,.0f records/s%n", setup, sec, r.turns() / sec);
+        if(bad != -1) System.exit(1);
+    }
+}